@@ -0,0 +1,255 @@
+package com.syllabusai.adapter;
+
+import com.syllabusai.util.HashUtils;
+import com.syllabusai.util.LruTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class AIResponseCache {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final LruTtlCache<String, String> memoryTier;
+
+    private final Counter diskHits;
+    private final Counter diskMisses;
+    private final Counter diskEvictions;
+
+    public AIResponseCache(
+            @Value("${app.ai-cache.enabled:true}") boolean enabled,
+            @Value("${app.ai-cache.max-entries:500}") int maxEntries,
+            @Value("${app.ai-cache.ttl:7d}") Duration ttl,
+            @Value("${app.ai-cache.directory:${java.io.tmpdir}/syllabusai/ai-cache}") Path directory,
+            @Value("${app.ai-cache.disk-max-size:256MB}") DataSize maxDiskSize,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskSize.toBytes();
+        this.memoryTier = new LruTtlCache<String, String>(maxEntries, ttl)
+                .registerMetrics(meterRegistry, "ai-responses");
+
+        this.diskHits = Counter.builder("ai.cache.disk.gets").tag("result", "hit").register(meterRegistry);
+        this.diskMisses = Counter.builder("ai.cache.disk.gets").tag("result", "miss").register(meterRegistry);
+        this.diskEvictions = Counter.builder("ai.cache.disk.evictions").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initDirectory() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            log.info("AI response cache directory: {}", directory);
+        } catch (IOException e) {
+            log.warn("AI response disk cache unavailable at {}: {}", directory, e.getMessage());
+            return;
+        }
+        sweepDisk();
+    }
+
+    // Drops expired entries, then the oldest ones until the directory fits in disk-max-size
+    @Scheduled(fixedDelayString = "${app.ai-cache.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.ai-cache.sweep-interval-ms:3600000}")
+    public void sweepDisk() {
+        if (!enabled) {
+            return;
+        }
+        List<CacheFile> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    entries.add(new CacheFile(file, attributes.lastModifiedTime().toInstant(), attributes.size()));
+                } catch (IOException e) {
+                    // Removed concurrently by a read of an expired entry
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to sweep AI cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        Instant expiredBefore = Instant.now().minus(ttl);
+        entries.sort(Comparator.comparing(CacheFile::modified));
+        long totalBytes = entries.stream().mapToLong(CacheFile::size).sum();
+        int evicted = 0;
+        for (CacheFile entry : entries) {
+            if (!entry.modified().isBefore(expiredBefore) && totalBytes <= maxDiskBytes) {
+                break;
+            }
+            if (deleteQuietly(entry.path())) {
+                evicted++;
+            }
+            totalBytes -= entry.size();
+        }
+
+        if (evicted > 0) {
+            diskEvictions.increment(evicted);
+            log.info("Evicted {} AI cache entries from {}", evicted, directory);
+        }
+    }
+
+    public String getOrCompute(String operation, String templateVersion, String content, Supplier<String> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String key = buildKey(operation, templateVersion, content);
+
+        Optional<String> cached = memoryTier.get(key);
+        if (cached.isPresent()) {
+            log.debug("AI cache memory hit for {}", operation);
+            return cached.get();
+        }
+
+        Optional<String> stored = readFromDisk(key);
+        if (stored.isPresent()) {
+            log.debug("AI cache disk hit for {}", operation);
+            memoryTier.put(key, stored.get());
+            return stored.get();
+        }
+
+        String response = loader.get();
+        if (isCacheable(response)) {
+            memoryTier.put(key, response);
+            writeToDisk(key, response);
+        }
+        return response;
+    }
+
+    // Same tiers as getOrCompute; disk reads and writes run on the bounded elastic scheduler
+    public Mono<String> getOrComputeAsync(String operation, String templateVersion, String content,
+                                          Supplier<Mono<String>> loader) {
+        if (!enabled) {
+            return Mono.defer(loader);
+        }
+
+        String key = buildKey(operation, templateVersion, content);
+
+        Optional<String> cached = memoryTier.get(key);
+        if (cached.isPresent()) {
+            log.debug("AI cache memory hit for {}", operation);
+            return Mono.just(cached.get());
+        }
+
+        return Mono.fromCallable(() -> readFromDisk(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(stored -> {
+                    if (stored.isPresent()) {
+                        log.debug("AI cache disk hit for {}", operation);
+                        memoryTier.put(key, stored.get());
+                        return Mono.just(stored.get());
+                    }
+                    return Mono.defer(loader).flatMap(response -> {
+                        if (!isCacheable(response)) {
+                            return Mono.just(response);
+                        }
+                        memoryTier.put(key, response);
+                        return Mono.fromRunnable(() -> writeToDisk(key, response))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(response);
+                    });
+                });
+    }
+
+    static String normalize(String content) {
+        return content == null ? "" : content.strip().replaceAll("\\s+", " ");
+    }
+
+    private String buildKey(String operation, String templateVersion, String content) {
+        return operation + "-" + templateVersion + "-" + HashUtils.sha256Hex(normalize(content));
+    }
+
+    private boolean isCacheable(String response) {
+        // Empty arrays/objects come from blocked or empty answers that a later call may improve on, so never pin them
+        if (response == null) {
+            return false;
+        }
+        String trimmed = response.trim();
+        return !trimmed.isEmpty() && !"[]".equals(trimmed) && !"{}".equals(trimmed);
+    }
+
+    private Optional<String> readFromDisk(String key) {
+        Path file = directory.resolve(key + ".json");
+        try {
+            if (!Files.exists(file)) {
+                diskMisses.increment();
+                return Optional.empty();
+            }
+            if (isExpired(file)) {
+                deleteQuietly(file);
+                diskEvictions.increment();
+                diskMisses.increment();
+                return Optional.empty();
+            }
+            String value = Files.readString(file, StandardCharsets.UTF_8);
+            diskHits.increment();
+            return Optional.of(value);
+        } catch (IOException e) {
+            log.warn("Failed to read AI cache entry {}: {}", key, e.getMessage());
+            diskMisses.increment();
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(String key, String value) {
+        try {
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(tmp, value, StandardCharsets.UTF_8);
+            Files.move(tmp, directory.resolve(key + ".json"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write AI cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(Path file) {
+        try {
+            Instant modified = Files.getLastModifiedTime(file).toInstant();
+            return modified.plus(ttl).isBefore(Instant.now());
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete AI cache file {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private record CacheFile(Path path, Instant modified, long size) {
+    }
+}
@@ -11,6 +11,8 @@ public interface AIService {
 
     String analyzeSyllabusStructure(String content);
 
+    String extractSyllabus(String content);
+
     String generateText(String prompt);
 
     String analyzeDocument(byte[] documentBytes, String mimeType, String prompt);
@@ -1,6 +1,8 @@
 package com.syllabusai.adapter;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.syllabusai.exception.AIResponseTruncatedException;
+import com.syllabusai.exception.AIServiceUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,27 +11,41 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class GeminiAIAdapter implements AIService {
+public class GeminiAIAdapter implements AIService, ReactiveAIService {
 
     private final WebClient webClient;
+    private final GeminiRateLimiter rateLimiter;
+    private final AIResponseCache responseCache;
 
     @Value("${gemini.api-key:demo-key-placeholder}")
     private String apiKey;
 
+    @Value("${gemini.rate-limit.max-retries:3}")
+    private int maxThrottleRetries;
+
     private static final String BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
     private static final int MAX_CONTENT_LENGTH = 25000;
+    private static final int MAX_OUTPUT_TOKENS = 8192;
+    private static final int MAX_COMBINED_OUTPUT_TOKENS = 16384;
     private static final Duration API_TIMEOUT = Duration.ofSeconds(45);
 
+    // Bump whenever a prompt template changes so cached responses from the old prompt are not reused
+    private static final String PROMPT_TEMPLATE_VERSION = "v1";
+
     private static final LocalDate DEFAULT_SEMESTER_START = LocalDate.now().withMonth(9).withDayOfMonth(1);
 
 
@@ -41,10 +57,9 @@ public class GeminiAIAdapter implements AIService {
             return "[]";
         }
 
-        String prompt = createSmartTopicExtractionPrompt(content);
         log.debug("Extracting topics with AI, content length: {}", content.length());
-
-        return callGeminiAPI(prompt);
+        return cachedCall("topics", PROMPT_TEMPLATE_VERSION, content,
+                () -> createSmartTopicExtractionPrompt(content));
     }
 
 
@@ -56,9 +71,9 @@ public class GeminiAIAdapter implements AIService {
             return "[]";
         }
 
-        String prompt = createSmartDeadlineExtractionPrompt(content);
         log.debug("Extracting deadlines with AI, content length: {}", content.length());
-        return callGeminiAPI(prompt);
+        return cachedCall("deadlines", deadlineTemplateVersion(), content,
+                () -> createSmartDeadlineExtractionPrompt(content));
     }
 
 
@@ -70,9 +85,9 @@ public class GeminiAIAdapter implements AIService {
             return "[]";
         }
 
-        String prompt = createSmartMaterialExtractionPrompt(content);
         log.debug("Extracting materials with AI, content length: {}", content.length());
-        return callGeminiAPI(prompt);
+        return cachedCall("materials", PROMPT_TEMPLATE_VERSION, content,
+                () -> createSmartMaterialExtractionPrompt(content));
     }
 
 
@@ -80,8 +95,22 @@ public class GeminiAIAdapter implements AIService {
     public String analyzeSyllabusStructure(String content) {
         log.debug("Entered analyzeSyllabusStructure method"); //
         if (isDemoMode()) return "{}";
-        String prompt = createStructureAnalysisPrompt(content);
-        return callGeminiAPI(prompt);
+        return cachedCall("structure", PROMPT_TEMPLATE_VERSION, content,
+                () -> createStructureAnalysisPrompt(content));
+    }
+
+
+    @Override
+    public String extractSyllabus(String content) {
+        log.debug("Entered extractSyllabus method"); //
+        if (isDemoMode()) {
+            log.warn("API key not configured, returning empty");
+            return "{}";
+        }
+
+        log.debug("Extracting full syllabus with AI, content length: {}", content.length());
+        return responseCache.getOrCompute("syllabus", deadlineTemplateVersion(), content,
+                () -> callGeminiAPI(createCombinedExtractionPrompt(content), MAX_COMBINED_OUTPUT_TOKENS));
     }
 
 
@@ -89,7 +118,7 @@ public class GeminiAIAdapter implements AIService {
     public String generateText(String prompt) {
         log.debug("Entered generateText method"); //
         if (isDemoMode()) return "MEDIUM";
-        return callGeminiAPI(prompt);
+        return cachedCall("text", PROMPT_TEMPLATE_VERSION, prompt, () -> prompt);
     }
 
 
@@ -100,6 +129,61 @@ public class GeminiAIAdapter implements AIService {
     }
 
 
+    @Override
+    public Mono<String> extractTopicsAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just("[]");
+        }
+        return cachedCallAsync("topics", PROMPT_TEMPLATE_VERSION, content,
+                () -> createSmartTopicExtractionPrompt(content));
+    }
+
+
+    @Override
+    public Mono<String> extractDeadlinesAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just("[]");
+        }
+        return cachedCallAsync("deadlines", deadlineTemplateVersion(), content,
+                () -> createSmartDeadlineExtractionPrompt(content));
+    }
+
+
+    @Override
+    public Mono<String> extractMaterialsAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just("[]");
+        }
+        return cachedCallAsync("materials", PROMPT_TEMPLATE_VERSION, content,
+                () -> createSmartMaterialExtractionPrompt(content));
+    }
+
+
+    @Override
+    public Mono<String> extractSyllabusAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just("{}");
+        }
+        return responseCache.getOrComputeAsync("syllabus", deadlineTemplateVersion(), content,
+                () -> callGeminiAPIAsync(createCombinedExtractionPrompt(content), MAX_COMBINED_OUTPUT_TOKENS));
+    }
+
+
+    @Override
+    public Mono<String> generateTextAsync(String prompt) {
+        if (isDemoMode()) {
+            return Mono.just("MEDIUM");
+        }
+        return cachedCallAsync("text", PROMPT_TEMPLATE_VERSION, prompt, () -> prompt);
+    }
+
+
+    private String deadlineTemplateVersion() {
+        // Deadline dates are computed from the semester start, so it is part of the prompt identity
+        return PROMPT_TEMPLATE_VERSION + "_" + DEFAULT_SEMESTER_START.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+
     private boolean isDemoMode() {
         log.debug("Checking demo mode"); //
         return "demo-key-placeholder".equals(apiKey) || apiKey == null || apiKey.trim().isEmpty();
@@ -262,102 +346,280 @@ public class GeminiAIAdapter implements AIService {
 
 
 
-    private String callGeminiAPI(String prompt) {
-        try {
-            log.debug("Calling Gemini API with prompt length: {}", prompt.length());
-
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", prompt);
-
-            content.put("parts", new Object[]{part});
-            requestBody.put("contents", new Object[]{content});
-
-            requestBody.put("generationConfig", Map.of(
-                    "temperature", 0.1,
-                    "topK", 40,
-                    "topP", 0.8,
-                    "maxOutputTokens", 8192,
-                    "responseMimeType", "application/json"
-            ));
-
-            String url = BASE_URL + "?key=" + apiKey;
-
-            JsonNode rootNode = webClient.post()
-                    .uri(url)
-                    .header(HttpHeaders.USER_AGENT, "SyllabusAI/1.0")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .timeout(API_TIMEOUT)
-                    .block();
-
-            if (rootNode == null) {
-                log.error("Gemini returned null");
-                return "[]";
-            }
+    private String createCombinedExtractionPrompt(String content) {
+        log.debug("Creating combined extraction prompt"); //
+        String semesterStart = DEFAULT_SEMESTER_START.format(DateTimeFormatter.ISO_DATE);
 
-            JsonNode candidatesNode = rootNode.path("candidates");
-            if (candidatesNode.isMissingNode() || candidatesNode.isEmpty()) {
-                log.error("No candidates in response");
-                return "[]";
+        return """
+            You are analyzing a university syllabus document. Extract the course information, every
+            weekly topic, every deadline and every learning material in a SINGLE JSON object.
+            
+            TOPICS - one entry per week from the "Course Plan" or "Course Topics" table. Rate difficulty:
+            - EASY: Introductory concepts, simple patterns (like Builder, Factory)
+            - MEDIUM: More complex patterns requiring understanding of abstractions (like Adapter, Decorator, Strategy)
+            - HARD: Advanced patterns with complex relationships (like Bridge, Visitor, Abstract Factory)
+            
+            DEADLINES - all assignments, quizzes, projects and exams. Calculate dates:
+            - Assume semester starts on: %s, Week 1 starts on that date
+            - Assignment due dates: End of the week they're assigned
+            - Midterm: Usually around Week 4-5, Final/Endterm: Usually Week 10
+            - Type must be: ASSIGNMENT, EXAM, QUIZ, or PROJECT
+            
+            MATERIALS - only resources actually mentioned ("Resources:", "Reading:", "Supporting reading:").
+            - Type must be: TEXTBOOK, READING, VIDEO, WEBSITE, or EXERCISE
+            - Do NOT make up materials
+            
+            Return ONLY this JSON object:
+            {
+              "course": {
+                "courseTitle": "Course name",
+                "courseCode": "Code if mentioned",
+                "instructor": "Instructor name",
+                "semester": "Fall 2025 or similar",
+                "totalWeeks": 10
+              },
+              "topics": [
+                {"week": 1, "title": "Builder", "description": "Brief summary", "difficulty": "EASY"}
+              ],
+              "deadlines": [
+                {"week": 2, "title": "Assignment 1: Builder Pattern", "date": "2025-09-14", "type": "ASSIGNMENT", "description": "Implement Car.Builder in Java"}
+              ],
+              "materials": [
+                {"week": 1, "title": "Refactoring.Guru - Builder Tutorial", "type": "WEBSITE", "link": "https://refactoring.guru/design-patterns/builder", "topicReference": "Builder"}
+              ]
             }
+            
+            IMPORTANT:
+            - Each week, deadline and material = separate JSON object
+            - Titles should be concise (under 100 chars), descriptions one sentence
+            - Use [] for any section with no entries
+            
+            Syllabus content:
+            """.formatted(semesterStart) + truncateContent(content);
+    }
 
-            JsonNode firstCandidate = candidatesNode.get(0);
-            if (firstCandidate == null) {
-                log.error("First candidate is null");
-                return "[]";
-            }
 
-            String finishReason = firstCandidate.path("finishReason").asText("");
-            if ("MAX_TOKENS".equals(finishReason)) {
-                log.error("Response truncated due to MAX_TOKENS!");
-                JsonNode contentNode = firstCandidate.path("content");
-                JsonNode partsNode = contentNode.path("parts");
-                if (!partsNode.isEmpty()) {
-                    String partial = partsNode.get(0).path("text").asText("");
-                    log.warn("Got partial response, length: {}", partial.length());
-                    return partial.isEmpty() ? "[]" : partial;
-                }
-                return "[]";
+
+    private String cachedCall(String operation, String templateVersion, String content, Supplier<String> promptFactory) {
+        try {
+            return responseCache.getOrCompute(operation, templateVersion, content,
+                    () -> callGeminiAPI(promptFactory.get(), MAX_OUTPUT_TOKENS));
+        } catch (AIResponseTruncatedException e) {
+            // Truncated output is used as-is but never cached
+            String partial = e.getPartialResponse();
+            return partial == null || partial.isEmpty() ? "[]" : partial;
+        }
+    }
+
+    private Mono<String> cachedCallAsync(String operation, String templateVersion, String content,
+                                         Supplier<String> promptFactory) {
+        return responseCache.getOrComputeAsync(operation, templateVersion, content,
+                        () -> callGeminiAPIAsync(promptFactory.get(), MAX_OUTPUT_TOKENS))
+                .onErrorResume(AIResponseTruncatedException.class, e -> {
+                    String partial = e.getPartialResponse();
+                    return Mono.just(partial == null || partial.isEmpty() ? "[]" : partial);
+                });
+    }
+
+    private String callGeminiAPI(String prompt, int maxOutputTokens) {
+        log.debug("Calling Gemini API with prompt length: {}", prompt.length());
+
+        for (int attempt = 0; ; attempt++) {
+            GeminiRateLimiter.Permit permit;
+            try {
+                permit = rateLimiter.acquire(estimateTokens(prompt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AIServiceUnavailableException("Interrupted while waiting for the Gemini rate limit", e);
             }
-            if ("SAFETY".equals(finishReason)) {
-                log.error("Response blocked by safety filters");
-                return "[]";
+            try {
+                JsonNode rootNode = webClient.post()
+                        .uri(BASE_URL + "?key=" + apiKey)
+                        .header(HttpHeaders.USER_AGENT, "SyllabusAI/1.0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(createRequestBody(prompt, maxOutputTokens))
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .timeout(API_TIMEOUT)
+                        .block();
+                permit.recordSuccess(promptTokenCount(rootNode));
+                return extractResponseText(rootNode, maxOutputTokens);
+            } catch (WebClientResponseException e) {
+                if (!isThrottled(e)) {
+                    throw unavailable(e);
+                }
+                permit.recordThrottled(retryAfter(e));
+                if (attempt >= maxThrottleRetries) {
+                    throw unavailable(e);
+                }
+                log.warn("Gemini throttled the call ({}), retry {} of {}",
+                        e.getStatusCode(), attempt + 1, maxThrottleRetries);
+            } catch (AIResponseTruncatedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (Exceptions.unwrap(e) instanceof TimeoutException) {
+                    permit.recordDropped();
+                }
+                throw unavailable(e);
+            } finally {
+                permit.release();
             }
+        }
+    }
 
-            JsonNode contentNode = firstCandidate.path("content");
-            JsonNode partsNode = contentNode.path("parts");
-            if (partsNode.isMissingNode() || partsNode.isEmpty()) {
-                log.error("No parts in content");
-                return "[]";
-            }
+    // Same contract as callGeminiAPI, but the permit wait and the HTTP call hold no thread
+    private Mono<String> callGeminiAPIAsync(String prompt, int maxOutputTokens) {
+        return callGeminiAPIAsync(prompt, maxOutputTokens, 0)
+                .map(rootNode -> extractResponseText(rootNode, maxOutputTokens))
+                .defaultIfEmpty("[]")
+                .onErrorMap(e -> !(e instanceof AIResponseTruncatedException), this::unavailable);
+    }
 
-            JsonNode firstPart = partsNode.get(0);
-            if (firstPart == null) {
-                log.error("First part is null");
-                return "[]";
-            }
+    private Mono<JsonNode> callGeminiAPIAsync(String prompt, int maxOutputTokens, int attempt) {
+        return Mono.usingWhen(
+                        rateLimiter.acquireAsync(estimateTokens(prompt)),
+                        permit -> {
+                            log.debug("Calling Gemini API asynchronously with prompt length: {}", prompt.length());
+                            return webClient.post()
+                                    .uri(BASE_URL + "?key=" + apiKey)
+                                    .header(HttpHeaders.USER_AGENT, "SyllabusAI/1.0")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(createRequestBody(prompt, maxOutputTokens))
+                                    .retrieve()
+                                    .bodyToMono(JsonNode.class)
+                                    .timeout(API_TIMEOUT)
+                                    .doOnNext(rootNode -> permit.recordSuccess(promptTokenCount(rootNode)))
+                                    .doOnError(e -> {
+                                        if (e instanceof WebClientResponseException http && isThrottled(http)) {
+                                            permit.recordThrottled(retryAfter(http));
+                                        } else if (e instanceof TimeoutException) {
+                                            permit.recordDropped();
+                                        }
+                                    });
+                        },
+                        permit -> Mono.fromRunnable(permit::release))
+                .onErrorResume(e -> attempt < maxThrottleRetries
+                                && e instanceof WebClientResponseException http && isThrottled(http),
+                        e -> {
+                            log.warn("Gemini throttled the call ({}), retry {} of {}",
+                                    ((WebClientResponseException) e).getStatusCode(), attempt + 1, maxThrottleRetries);
+                            return callGeminiAPIAsync(prompt, maxOutputTokens, attempt + 1);
+                        });
+    }
 
-            String result = firstPart.path("text").asText("");
+    // A failed call must not look like an empty answer: that would store regex-only results as a success
+    private AIServiceUnavailableException unavailable(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        if (cause instanceof WebClientResponseException http) {
+            log.error("Gemini HTTP error {}: {}", http.getStatusCode(), http.getResponseBodyAsString());
+            return new AIServiceUnavailableException("Gemini returned " + http.getStatusCode().value(), http);
+        }
+        if (cause instanceof TimeoutException) {
+            log.error("Gemini API call timed out after {}", API_TIMEOUT);
+            return new AIServiceUnavailableException("Gemini did not answer within " + API_TIMEOUT, cause);
+        }
+        log.error("Gemini API failed: {}", cause.getMessage(), cause);
+        return new AIServiceUnavailableException("Gemini API failed: " + cause.getMessage(), cause);
+    }
 
-            if (result.isEmpty()) {
-                log.warn("Empty text in response");
-                return "[]";
-            }
+    // Rough prompt size for the token bucket; settled against usageMetadata once Gemini answers
+    private int estimateTokens(String prompt) {
+        return prompt.length() / 4 + 1;
+    }
 
-            log.info("Gemini API success, response length: {}", result.length());
-            return result;
+    private int promptTokenCount(JsonNode rootNode) {
+        return rootNode == null ? 0 : rootNode.path("usageMetadata").path("promptTokenCount").asInt(0);
+    }
 
-        } catch (WebClientResponseException e) {
-            log.error("Gemini HTTP error {}: {}", e.getStatusCode(), e.getResponseBodyAsString());
+    // 503 is how Gemini reports an overloaded model, so it backs off the same way as a 429
+    private boolean isThrottled(WebClientResponseException e) {
+        return e.getStatusCode().value() == 429 || e.getStatusCode().value() == 503;
+    }
+
+    private Duration retryAfter(WebClientResponseException e) {
+        String header = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(header.trim()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private Map<String, Object> createRequestBody(String prompt, int maxOutputTokens) {
+        Map<String, Object> requestBody = new HashMap<>();
+        Map<String, Object> content = new HashMap<>();
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", prompt);
+
+        content.put("parts", new Object[]{part});
+        requestBody.put("contents", new Object[]{content});
+
+        requestBody.put("generationConfig", Map.of(
+                "temperature", 0.1,
+                "topK", 40,
+                "topP", 0.8,
+                "maxOutputTokens", maxOutputTokens,
+                "responseMimeType", "application/json"
+        ));
+        return requestBody;
+    }
+
+    private String extractResponseText(JsonNode rootNode, int maxOutputTokens) {
+        if (rootNode == null) {
+            log.error("Gemini returned null");
             return "[]";
-        } catch (Exception e) {
-            log.error("Gemini API failed: {}", e.getMessage(), e);
+        }
+
+        JsonNode candidatesNode = rootNode.path("candidates");
+        if (candidatesNode.isMissingNode() || candidatesNode.isEmpty()) {
+            log.error("No candidates in response");
             return "[]";
         }
+
+        JsonNode firstCandidate = candidatesNode.get(0);
+        if (firstCandidate == null) {
+            log.error("First candidate is null");
+            return "[]";
+        }
+
+        String finishReason = firstCandidate.path("finishReason").asText("");
+        if ("MAX_TOKENS".equals(finishReason)) {
+            log.error("Response truncated due to MAX_TOKENS!");
+            JsonNode partsNode = firstCandidate.path("content").path("parts");
+            String partial = partsNode.isEmpty() ? "" : partsNode.get(0).path("text").asText("");
+            log.warn("Got partial response, length: {}", partial.length());
+            throw new AIResponseTruncatedException("Gemini response truncated at " + maxOutputTokens + " tokens", partial);
+        }
+        if ("SAFETY".equals(finishReason)) {
+            log.error("Response blocked by safety filters");
+            return "[]";
+        }
+
+        JsonNode contentNode = firstCandidate.path("content");
+        JsonNode partsNode = contentNode.path("parts");
+        if (partsNode.isMissingNode() || partsNode.isEmpty()) {
+            log.error("No parts in content");
+            return "[]";
+        }
+
+        JsonNode firstPart = partsNode.get(0);
+        if (firstPart == null) {
+            log.error("First part is null");
+            return "[]";
+        }
+
+        String result = firstPart.path("text").asText("");
+
+        if (result.isEmpty()) {
+            log.warn("Empty text in response");
+            return "[]";
+        }
+
+        log.info("Gemini API success, response length: {}", result.length());
+        return result;
     }
 
     private String truncateContent(String content) {
@@ -0,0 +1,414 @@
+package com.syllabusai.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class GeminiRateLimiter {
+
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final Duration defaultThrottleBackoff;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private double concurrencyLimit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private long pausedUntilNanos;
+
+    private final Timer waitTimer;
+    private final Counter throttledCounter;
+    private final Counter droppedCounter;
+
+    public GeminiRateLimiter(
+            @Value("${gemini.rate-limit.requests-per-minute:30}") int requestsPerMinute,
+            @Value("${gemini.rate-limit.burst:3}") int burst,
+            @Value("${gemini.rate-limit.tokens-per-minute:250000}") int tokensPerMinute,
+            @Value("${gemini.rate-limit.min-concurrent:1}") int minConcurrent,
+            @Value("${gemini.rate-limit.max-concurrent:4}") int maxConcurrent,
+            @Value("${gemini.rate-limit.latency-target:20s}") Duration latencyTarget,
+            @Value("${gemini.rate-limit.backoff-ratio:0.5}") double backoffRatio,
+            @Value("${gemini.rate-limit.throttle-backoff:5s}") Duration defaultThrottleBackoff,
+            MeterRegistry meterRegistry) {
+        this.requestBucket = new TokenBucket(Math.max(1, burst), Math.max(1, requestsPerMinute));
+        // A quarter of the minute's token quota may go out at once, enough for a few full syllabi
+        this.tokenBucket = new TokenBucket(Math.max(1, tokensPerMinute / 4.0), Math.max(1, tokensPerMinute));
+        this.maxConcurrency = Math.max(1, maxConcurrent);
+        this.minConcurrency = Math.min(Math.max(1, minConcurrent), this.maxConcurrency);
+        this.concurrencyLimit = Math.max(this.minConcurrency, Math.ceil(this.maxConcurrency / 2.0));
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.backoffRatio = Math.min(0.95, Math.max(0.1, backoffRatio));
+        this.defaultThrottleBackoff = defaultThrottleBackoff;
+
+        this.waitTimer = Timer.builder("gemini.limiter.wait").register(meterRegistry);
+        this.throttledCounter = Counter.builder("gemini.limiter.throttled").register(meterRegistry);
+        this.droppedCounter = Counter.builder("gemini.limiter.dropped").register(meterRegistry);
+        Gauge.builder("gemini.limiter.limit", this, GeminiRateLimiter::getConcurrencyLimit).register(meterRegistry);
+        Gauge.builder("gemini.limiter.inflight", this, GeminiRateLimiter::getInFlight).register(meterRegistry);
+        Gauge.builder("gemini.limiter.queued", this, GeminiRateLimiter::getQueued).register(meterRegistry);
+        Gauge.builder("gemini.limiter.bucket.available", requestBucket, TokenBucket::available)
+                .tag("bucket", "requests").register(meterRegistry);
+        Gauge.builder("gemini.limiter.bucket.available", tokenBucket, TokenBucket::available)
+                .tag("bucket", "tokens").register(meterRegistry);
+    }
+
+    public Permit acquire(int estimatedTokens) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        Reservation reservation = reserve(estimatedTokens);
+        Waiter waiter = new Waiter(null, reservation);
+        try {
+            if (reservation.waitNanos > 0) {
+                log.debug("Gemini rate limit reached, delaying request by {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(reservation.waitNanos));
+                TimeUnit.NANOSECONDS.sleep(reservation.waitNanos);
+            }
+            if (!enqueue(waiter)) {
+                waiter.latch.await();
+            }
+        } catch (InterruptedException e) {
+            waiter.cancel();
+            throw e;
+        }
+        waiter.claim();
+        return granted(startNanos, reservation);
+    }
+
+    public Mono<Permit> acquireAsync(int estimatedTokens) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            Reservation reservation = reserve(estimatedTokens);
+            Mono<Permit> slot = Mono.<Waiter>create(sink -> {
+                        Waiter waiter = new Waiter(sink, reservation);
+                        sink.onCancel(waiter::cancel);
+                        if (enqueue(waiter)) {
+                            sink.success(waiter);
+                        }
+                    })
+                    .handle((waiter, sink) -> {
+                        // A cancel racing the grant has already handed the slot back
+                        if (waiter.claim()) {
+                            sink.next(granted(startNanos, reservation));
+                        }
+                    });
+            if (reservation.waitNanos > 0) {
+                log.debug("Gemini rate limit reached, delaying reactive request by {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(reservation.waitNanos));
+                slot = Mono.delay(Duration.ofNanos(reservation.waitNanos)).then(slot);
+            }
+            // Cancelled during the delay there is no waiter yet to hand the quota back
+            return slot.doOnCancel(reservation::refund);
+        });
+    }
+
+    public double getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit granted(long startNanos, Reservation reservation) {
+        reservation.settle();
+        waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return new Permit(reservation.tokens);
+    }
+
+    private Reservation reserve(int estimatedTokens) {
+        long now = System.nanoTime();
+        int tokens = (int) Math.min(Math.max(1, estimatedTokens), tokenBucket.capacity);
+        long waitNanos = Math.max(requestBucket.reserve(1, now), tokenBucket.reserve(tokens, now));
+        lock.lock();
+        try {
+            return new Reservation(tokens, Math.max(waitNanos, pausedUntilNanos - now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns true when the slot was granted right away; otherwise the waiter is granted later
+    private boolean enqueue(Waiter waiter) {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) concurrencyLimit) {
+                inFlight++;
+                waiter.state.set(Waiter.GRANTED);
+                return true;
+            }
+            waiters.addLast(waiter);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        grantWaiting();
+    }
+
+    // Grants happen outside the lock since completing a sink may run downstream code
+    private void grantWaiting() {
+        while (true) {
+            Waiter next;
+            lock.lock();
+            try {
+                if (waiters.isEmpty() || inFlight >= (int) concurrencyLimit) {
+                    return;
+                }
+                next = waiters.pollFirst();
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            if (!next.grant()) {
+                lock.lock();
+                try {
+                    inFlight--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private void onSuccess(long latencyNanos) {
+        lock.lock();
+        try {
+            if (latencyNanos > latencyTargetNanos) {
+                decrease(0.9, "latency " + TimeUnit.NANOSECONDS.toMillis(latencyNanos) + " ms");
+            } else {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+            }
+        } finally {
+            lock.unlock();
+        }
+        grantWaiting();
+    }
+
+    private void onThrottled(Duration retryAfter) {
+        throttledCounter.increment();
+        Duration pause = retryAfter != null ? retryAfter : defaultThrottleBackoff;
+        lock.lock();
+        try {
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + pause.toNanos());
+            decrease(backoffRatio, "throttled, pausing " + pause.toMillis() + " ms");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onDropped() {
+        droppedCounter.increment();
+        lock.lock();
+        try {
+            decrease(backoffRatio, "request timed out");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called under the lock. One decrease per second, so a burst of failures from the same overload
+    // does not collapse the limit to the minimum
+    private void decrease(double ratio, String reason) {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < TimeUnit.SECONDS.toNanos(1)) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        double previous = concurrencyLimit;
+        concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * ratio);
+        log.info("Gemini concurrency limit {} -> {} ({})",
+                String.format("%.2f", previous), String.format("%.2f", concurrencyLimit), reason);
+    }
+
+    // release() is idempotent, so every termination path may call it
+    public final class Permit {
+
+        private final int estimatedTokens;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int estimatedTokens) {
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        public void recordSuccess(int promptTokens) {
+            if (promptTokens > 0) {
+                // Settle the estimate against what Gemini actually counted
+                tokenBucket.refund(estimatedTokens - promptTokens);
+            }
+            onSuccess(System.nanoTime() - startNanos);
+        }
+
+        public void recordThrottled(Duration retryAfter) {
+            onThrottled(retryAfter);
+        }
+
+        public void recordDropped() {
+            onDropped();
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+    }
+
+    // Bucket quota taken by one acquisition; returned if the caller leaves before it gets a permit
+    private final class Reservation {
+
+        private final int tokens;
+        private final long waitNanos;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Reservation(int tokens, long waitNanos) {
+            this.tokens = tokens;
+            this.waitNanos = waitNanos;
+        }
+
+        void settle() {
+            settled.set(true);
+        }
+
+        void refund() {
+            if (settled.compareAndSet(false, true)) {
+                requestBucket.refund(1);
+                tokenBucket.refund(tokens);
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CLAIMED = 2;
+        private static final int CANCELLED = 3;
+
+        private final MonoSink<Waiter> sink;
+        private final Reservation reservation;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(MonoSink<Waiter> sink, Reservation reservation) {
+            this.sink = sink;
+            this.reservation = reservation;
+        }
+
+        boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            if (sink != null) {
+                sink.success(this);
+            } else {
+                latch.countDown();
+            }
+            return true;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(GRANTED, CLAIMED);
+        }
+
+        void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                lock.lock();
+                try {
+                    waiters.remove(this);
+                } finally {
+                    lock.unlock();
+                }
+                reservation.refund();
+            } else if (state.compareAndSet(GRANTED, CANCELLED)) {
+                // Granted while the caller was going away, so the slot never reached a permit
+                releaseSlot();
+                reservation.refund();
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double nanosPerToken;
+        private double available;
+        private long lastRefillNanos;
+
+        private TokenBucket(double capacity, double tokensPerMinute) {
+            this.capacity = capacity;
+            this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / tokensPerMinute;
+            this.available = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        // Tokens may go negative: each waiting caller reserves the next free slot
+        synchronized long reserve(double tokens, long now) {
+            refill(now);
+            available -= tokens;
+            return available >= 0 ? 0 : (long) (-available * nanosPerToken);
+        }
+
+        synchronized void refund(double tokens) {
+            refill(System.nanoTime());
+            available = Math.min(capacity, available + tokens);
+        }
+
+        synchronized double available() {
+            refill(System.nanoTime());
+            return available;
+        }
+
+        private void refill(long now) {
+            available = Math.min(capacity, available + (now - lastRefillNanos) / nanosPerToken);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.syllabusai.adapter;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAIService {
+
+    Mono<String> extractTopicsAsync(String content);
+
+    Mono<String> extractDeadlinesAsync(String content);
+
+    Mono<String> extractMaterialsAsync(String content);
+
+    Mono<String> extractSyllabusAsync(String content);
+
+    Mono<String> generateTextAsync(String prompt);
+}
@@ -0,0 +1,79 @@
+package com.syllabusai.classifier;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Hashing keeps the model a fixed size however large the vocabulary grows
+public final class HashedNgramFeaturizer {
+
+    private static final Pattern DIFFICULTY_SUFFIX = Pattern.compile("\\[ai difficulty: [a-z]+]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int BIGRAM_SEED = 0x9E3779B9;
+    private static final int TRIGRAM_SEED = 0x85EBCA6B;
+
+    private final int bucketMask;
+
+    public HashedNgramFeaturizer(int bucketBits) {
+        if (bucketBits < 8 || bucketBits > 24) {
+            throw new IllegalArgumentException("bucketBits must be between 8 and 24: " + bucketBits);
+        }
+        this.bucketMask = (1 << bucketBits) - 1;
+    }
+
+    public int getBucketCount() {
+        return bucketMask + 1;
+    }
+
+    public int[] features(String text) {
+        if (text == null || text.isBlank()) {
+            return new int[0];
+        }
+
+        String[] words = tokenize(text);
+        int[] buckets = new int[estimateSize(words)];
+        int size = 0;
+
+        int previous = 0;
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            int wordHash = mix(word.hashCode());
+            buckets[size++] = wordHash & bucketMask;
+            if (i > 0) {
+                buckets[size++] = mix(previous * 31 + wordHash + BIGRAM_SEED) & bucketMask;
+            }
+            previous = wordHash;
+
+            String padded = " " + word + " ";
+            for (int j = 0; j + 3 <= padded.length(); j++) {
+                int trigram = padded.charAt(j) * 961 + padded.charAt(j + 1) * 31 + padded.charAt(j + 2);
+                buckets[size++] = mix(trigram + TRIGRAM_SEED) & bucketMask;
+            }
+        }
+        return size == buckets.length ? buckets : Arrays.copyOf(buckets, size);
+    }
+
+    private String[] tokenize(String text) {
+        String normalized = DIFFICULTY_SUFFIX.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        normalized = NON_ALPHANUMERIC.matcher(normalized).replaceAll(" ").trim();
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private int estimateSize(String[] words) {
+        int size = 0;
+        for (String word : words) {
+            size += 2 + word.length();
+        }
+        return size;
+    }
+
+    // murmur3 finalizer, spreads String.hashCode over the low bits used as bucket index
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,171 @@
+package com.syllabusai.classifier;
+
+import com.syllabusai.model.Topic;
+import com.syllabusai.model.TopicDifficultyKnowledge;
+import com.syllabusai.repository.TopicDifficultyKnowledgeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+// The knowledge store keeps only a sample title per fingerprint, so the model is trained and queried on titles
+@Slf4j
+@Component
+public class LocalDifficultyClassifier {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final TopicDifficultyKnowledgeRepository knowledgeRepository;
+    private final MeterRegistry meterRegistry;
+    private final HashedNgramFeaturizer featurizer;
+    private final AtomicReference<NaiveBayesDifficultyModel> model;
+    private final boolean enabled;
+    private final int bucketBits;
+    private final double minConfidence;
+    private final long minDocuments;
+    private final Path modelPath;
+
+    public LocalDifficultyClassifier(TopicDifficultyKnowledgeRepository knowledgeRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.difficulty.classifier.enabled:true}") boolean enabled,
+                                     @Value("${app.difficulty.classifier.bucket-bits:16}") int bucketBits,
+                                     @Value("${app.difficulty.classifier.min-confidence:0.85}") double minConfidence,
+                                     @Value("${app.difficulty.classifier.min-documents:200}") long minDocuments,
+                                     @Value("${app.difficulty.classifier.model-path:${java.io.tmpdir}/syllabusai/models/difficulty-nb.bin}") String modelPath) {
+        this.knowledgeRepository = knowledgeRepository;
+        this.meterRegistry = meterRegistry;
+        this.featurizer = new HashedNgramFeaturizer(bucketBits);
+        this.model = new AtomicReference<>(new NaiveBayesDifficultyModel(bucketBits));
+        this.enabled = enabled;
+        this.bucketBits = bucketBits;
+        this.minConfidence = minConfidence;
+        this.minDocuments = minDocuments;
+        this.modelPath = Path.of(modelPath);
+    }
+
+    public Optional<Topic.DifficultyLevel> classify(Topic topic) {
+        if (!enabled || topic == null || topic.getTitle() == null) {
+            return Optional.empty();
+        }
+
+        NaiveBayesDifficultyModel current = model.get();
+        if (current.getDocumentCount() < minDocuments) {
+            meterRegistry.counter("difficulty.classifier", "result", "untrained").increment();
+            return Optional.empty();
+        }
+
+        NaiveBayesDifficultyModel.Prediction prediction = current.predict(featurizer.features(topic.getTitle()));
+        boolean accepted = prediction.confidence() >= minConfidence;
+        meterRegistry.counter("difficulty.classifier", "result", accepted ? "accepted" : "escalated").increment();
+        log.debug("Local difficulty for '{}': {} ({})", topic.getTitle(), prediction.difficulty(), prediction.confidence());
+        return accepted ? Optional.of(prediction.difficulty()) : Optional.empty();
+    }
+
+    public void learn(Topic topic, Topic.DifficultyLevel difficulty) {
+        if (enabled && topic != null && topic.getTitle() != null && difficulty != null) {
+            model.get().learn(featurizer.features(topic.getTitle()), difficulty, 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+
+        Optional<NaiveBayesDifficultyModel> stored = load();
+        if (stored.isPresent()) {
+            model.set(stored.get());
+            log.info("Loaded difficulty model from {} ({} documents)", modelPath, stored.get().getDocumentCount());
+            return;
+        }
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.difficulty.classifier.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            NaiveBayesDifficultyModel rebuilt = new NaiveBayesDifficultyModel(bucketBits);
+            String after = "";
+            long rows = 0;
+            List<TopicDifficultyKnowledge> page;
+            do {
+                page = knowledgeRepository.findByFingerprintGreaterThanOrderByFingerprint(after, Limit.of(REBUILD_PAGE_SIZE));
+                for (TopicDifficultyKnowledge knowledge : page) {
+                    int[] features = featurizer.features(knowledge.getSampleTitle());
+                    rebuilt.learn(features, Topic.DifficultyLevel.EASY, (int) knowledge.getEasyVotes());
+                    rebuilt.learn(features, Topic.DifficultyLevel.MEDIUM, (int) knowledge.getMediumVotes());
+                    rebuilt.learn(features, Topic.DifficultyLevel.HARD, (int) knowledge.getHardVotes());
+                    after = knowledge.getFingerprint();
+                }
+                rows += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            model.set(rebuilt);
+            log.info("Rebuilt difficulty model from {} topics ({} documents)", rows, rebuilt.getDocumentCount());
+            save();
+        } catch (Exception e) {
+            log.warn("Failed to rebuild difficulty model: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Path parent = modelPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "difficulty-model", ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                model.get().writeTo(out);
+            }
+            Files.move(temp, modelPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved difficulty model to {}", modelPath);
+        } catch (IOException e) {
+            log.warn("Failed to save difficulty model to {}: {}", modelPath, e.getMessage());
+        }
+    }
+
+    private Optional<NaiveBayesDifficultyModel> load() {
+        if (!Files.isRegularFile(modelPath)) {
+            return Optional.empty();
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(modelPath))) {
+            NaiveBayesDifficultyModel stored = NaiveBayesDifficultyModel.readFrom(in);
+            if (stored.getBucketBits() != bucketBits) {
+                log.info("Stored difficulty model uses {} bucket bits, expected {}; rebuilding",
+                        stored.getBucketBits(), bucketBits);
+                return Optional.empty();
+            }
+            return Optional.of(stored);
+        } catch (IOException e) {
+            log.warn("Failed to load difficulty model from {}: {}", modelPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.syllabusai.classifier;
+
+import com.syllabusai.model.Topic;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NaiveBayesDifficultyModel {
+
+    private static final int MAGIC = 0x53444e42; // "SDNB"
+    private static final byte VERSION = 1;
+    private static final double ALPHA = 1.0;
+    private static final Topic.DifficultyLevel[] CLASSES = Topic.DifficultyLevel.values();
+    private static final int MIN_BUCKET_BITS = 8;
+    private static final int MAX_BUCKET_BITS = 24;
+
+    private final int bucketBits;
+    private final int[][] featureCounts;
+    private final long[] featureTotals = new long[CLASSES.length];
+    private final long[] documentCounts = new long[CLASSES.length];
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public NaiveBayesDifficultyModel(int bucketBits) {
+        if (bucketBits < MIN_BUCKET_BITS || bucketBits > MAX_BUCKET_BITS) {
+            throw new IllegalArgumentException("bucketBits must be between 8 and 24: " + bucketBits);
+        }
+        this.bucketBits = bucketBits;
+        this.featureCounts = new int[CLASSES.length][1 << bucketBits];
+    }
+
+    public int getBucketBits() {
+        return bucketBits;
+    }
+
+    public long getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (long count : documentCounts) {
+                total += count;
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void learn(int[] features, Topic.DifficultyLevel label, int weight) {
+        if (features.length == 0 || weight <= 0) {
+            return;
+        }
+
+        int c = label.ordinal();
+        lock.writeLock().lock();
+        try {
+            int[] counts = featureCounts[c];
+            for (int bucket : features) {
+                counts[bucket] += weight;
+            }
+            featureTotals[c] += (long) features.length * weight;
+            documentCounts[c] += weight;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Prediction predict(int[] features) {
+        double[] scores = new double[CLASSES.length];
+        int buckets = 1 << bucketBits;
+
+        lock.readLock().lock();
+        try {
+            long documents = 0;
+            for (long count : documentCounts) {
+                documents += count;
+            }
+            if (documents == 0 || features.length == 0) {
+                return new Prediction(Topic.DifficultyLevel.MEDIUM, 0);
+            }
+
+            for (int c = 0; c < CLASSES.length; c++) {
+                double denominator = Math.log(featureTotals[c] + ALPHA * buckets);
+                double score = Math.log((documentCounts[c] + 1.0) / (documents + CLASSES.length));
+                int[] counts = featureCounts[c];
+                for (int bucket : features) {
+                    score += Math.log(counts[bucket] + ALPHA) - denominator;
+                }
+                scores[c] = score;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int best = 0;
+        for (int c = 1; c < scores.length; c++) {
+            if (scores[c] > scores[best]) {
+                best = c;
+            }
+        }
+
+        // Softmax of the log scores gives the posterior of the winning class
+        double sum = 0;
+        for (double score : scores) {
+            sum += Math.exp(score - scores[best]);
+        }
+        return new Prediction(CLASSES[best], 1.0 / sum);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(bucketBits);
+            for (int c = 0; c < CLASSES.length; c++) {
+                out.writeLong(documentCounts[c]);
+            }
+            for (int[] counts : featureCounts) {
+                int nonZero = 0;
+                for (int count : counts) {
+                    if (count != 0) {
+                        nonZero++;
+                    }
+                }
+                out.writeInt(nonZero);
+                for (int bucket = 0; bucket < counts.length; bucket++) {
+                    if (counts[bucket] != 0) {
+                        out.writeInt(bucket);
+                        out.writeInt(counts[bucket]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        out.flush();
+    }
+
+    public static NaiveBayesDifficultyModel readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a difficulty model file");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported difficulty model version: " + version);
+        }
+
+        // Checked before allocating: the bucket arrays grow with 2^bits, so a corrupt header could exhaust the heap
+        int bucketBits = in.readByte();
+        if (bucketBits < MIN_BUCKET_BITS || bucketBits > MAX_BUCKET_BITS) {
+            throw new IOException("Corrupt difficulty model, bucket bits out of range: " + bucketBits);
+        }
+
+        NaiveBayesDifficultyModel model = new NaiveBayesDifficultyModel(bucketBits);
+        for (int c = 0; c < CLASSES.length; c++) {
+            model.documentCounts[c] = in.readLong();
+        }
+        for (int c = 0; c < CLASSES.length; c++) {
+            int[] counts = model.featureCounts[c];
+            int nonZero = in.readInt();
+            if (nonZero < 0 || nonZero > counts.length) {
+                throw new IOException("Corrupt difficulty model, bucket count out of range: " + nonZero);
+            }
+            for (int i = 0; i < nonZero; i++) {
+                int bucket = in.readInt();
+                int count = in.readInt();
+                if (bucket < 0 || bucket >= counts.length) {
+                    throw new IOException("Corrupt difficulty model, bucket out of range: " + bucket);
+                }
+                counts[bucket] = count;
+                model.featureTotals[c] += count;
+            }
+        }
+        return model;
+    }
+
+    public record Prediction(Topic.DifficultyLevel difficulty, double confidence) {
+    }
+}
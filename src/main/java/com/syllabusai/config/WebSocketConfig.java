@@ -0,0 +1,22 @@
+package com.syllabusai.config;
+
+import com.syllabusai.observer.ProgressWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final ProgressWebSocketHandler progressWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(progressWebSocketHandler, "/ws/progress")
+                .setAllowedOriginPatterns("http://127.0.0.1:*");
+    }
+}
@@ -2,6 +2,8 @@ package com.syllabusai.controller;
 
 import com.syllabusai.model.User;
 import com.syllabusai.repository.UserRepository;
+import com.syllabusai.service.AuthTokenService;
+import com.syllabusai.service.UserIdentityCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,8 @@ import java.util.Optional;
 public class AuthController {
 
     private final UserRepository userRepository;
+    private final AuthTokenService authTokenService;
+    private final UserIdentityCache userIdentityCache;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginData) {
@@ -29,8 +33,9 @@ public class AuthController {
 
             if (userOpt.isPresent() && userOpt.get().getPassword().equals(password)) {
                 User user = userOpt.get();
+                userIdentityCache.remember(user.getEmail(), user.getId());
 
-                String token = "demo-token-" + user.getId() + "-" + System.currentTimeMillis();
+                String token = authTokenService.issueToken(user);
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("token", token);
@@ -74,8 +79,9 @@ public class AuthController {
                     .build();
 
             userRepository.save(user);
+            userIdentityCache.invalidate(email);
 
-            String token = "demo-token-" + user.getId() + "-" + System.currentTimeMillis();
+            String token = authTokenService.issueToken(user);
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
@@ -100,24 +106,14 @@ public class AuthController {
                 return ResponseEntity.status(401).body("Not authenticated");
             }
 
-            String token = authHeader.substring(7);
-            System.out.println("Token received: " + token);
-
-            if (token.startsWith("demo-token-")) {
-                String[] parts = token.split("-");
-                if (parts.length >= 3) {
-                    Long userId = Long.parseLong(parts[2]);
-                    Optional<User> user = userRepository.findById(userId);
-
-                    if (user.isPresent()) {
-                        return ResponseEntity.ok(Map.of(
-                                "id", user.get().getId(),
-                                "email", user.get().getEmail(),
-                                "firstName", user.get().getFirstName(),
-                                "lastName", user.get().getLastName()
-                        ));
-                    }
-                }
+            Optional<AuthTokenService.TokenClaims> claims = authTokenService.resolveClaims(authHeader);
+            if (claims.isPresent()) {
+                return ResponseEntity.ok(Map.of(
+                        "id", claims.get().userId(),
+                        "email", claims.get().email(),
+                        "firstName", claims.get().firstName(),
+                        "lastName", claims.get().lastName()
+                ));
             }
 
             return ResponseEntity.status(401).body("Invalid token");
@@ -126,4 +122,12 @@ public class AuthController {
             return ResponseEntity.status(401).body("Authentication failed");
         }
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (!authTokenService.revoke(authHeader)) {
+            return ResponseEntity.status(401).body("Not authenticated");
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.syllabusai.controller;
+
+import com.syllabusai.dto.CursorPage;
+import com.syllabusai.dto.UpcomingDeadlineDTO;
+import com.syllabusai.service.AuthTokenService;
+import com.syllabusai.service.DeadlineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/deadlines")
+@RequiredArgsConstructor
+public class DeadlineController {
+
+    private final DeadlineService deadlineService;
+    private final AuthTokenService authTokenService;
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<?> getUpcomingDeadlines(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        Optional<Long> userId = authTokenService.resolveUserId(authHeader);
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(401)
+                    .body(Map.of("error", "Invalid token"));
+        }
+
+        try {
+            CursorPage<UpcomingDeadlineDTO> page = deadlineService.getUpcomingDeadlinesForUser(userId.get(), cursor, limit);
+            log.debug("Returning {} upcoming deadlines for user {}", page.getItems().size(), userId.get());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error getting upcoming deadlines for user {}: {}", userId.get(), e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("error", "Failed to get upcoming deadlines: " + e.getMessage()));
+        }
+    }
+}
@@ -1,21 +1,27 @@
 package com.syllabusai.controller;
 
+import com.syllabusai.dto.CursorPage;
+import com.syllabusai.dto.DeadlineDTO;
+import com.syllabusai.dto.MaterialDTO;
 import com.syllabusai.dto.SyllabusDTO;
-import com.syllabusai.dto.SyllabusOverviewDTO;
+import com.syllabusai.dto.SyllabusJobDTO;
+import com.syllabusai.dto.TopicDTO;
 import com.syllabusai.facade.SyllabusProcessingFacade;
-import com.syllabusai.model.*;
-import com.syllabusai.repository.UserRepository;
+import com.syllabusai.observer.SseProgressObserver;
+import com.syllabusai.service.AuthTokenService;
+import com.syllabusai.service.SyllabusJobService;
 import com.syllabusai.service.SyllabusService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -25,16 +31,27 @@ public class SyllabusController {
 
     private final SyllabusProcessingFacade syllabusFacade;
     private final SyllabusService syllabusService;
-    private final UserRepository userRepository;
+    private final SyllabusJobService syllabusJobService;
+    private final AuthTokenService authTokenService;
+    private final SseProgressObserver sseProgressObserver;
 
     @PostMapping("/upload")
     public ResponseEntity<?> uploadSyllabus(
             @RequestParam("file") MultipartFile file,
-            @RequestParam("userEmail") String userEmail) {
+            @RequestParam("userEmail") String userEmail,
+            @RequestParam(value = "async", defaultValue = "false") boolean async) {
 
         try {
             log.info("=== UPLOAD REQUEST ===");
-            log.info("File: {}, User: {}", file.getOriginalFilename(), userEmail);
+            log.info("File: {}, User: {}, async: {}", file.getOriginalFilename(), userEmail, async);
+
+            if (async) {
+                SyllabusJobDTO job = syllabusJobService.submit(file, userEmail);
+                log.info("Upload accepted, job ID: {}", job.getJobId());
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header("Location", "/api/syllabus/jobs/" + job.getJobId())
+                        .body(job);
+            }
 
             SyllabusDTO syllabus = syllabusFacade.processSyllabusUpload(file, userEmail);
 
@@ -48,9 +65,68 @@ public class SyllabusController {
         }
     }
 
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJobStatus(
+            @PathVariable Long id,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        Optional<AuthTokenService.TokenClaims> claims = authTokenService.resolveClaims(authHeader);
+        if (claims.isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
+        }
+
+        if (!syllabusService.isOwnedBy(id, claims.get().userId())) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            log.debug("Getting job status for ID: {}", id);
+            SyllabusJobDTO job = syllabusJobService.getJob(id);
+            return ResponseEntity.ok(job);
+        } catch (Exception e) {
+            log.error("Error getting job {}: {}", id, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/jobs/{id}/events")
+    public ResponseEntity<?> streamJobEvents(
+            @PathVariable Long id,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "token", required = false) String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        // EventSource cannot set headers, so the token may also come as a query parameter
+        Optional<AuthTokenService.TokenClaims> claims = authHeader != null
+                ? authTokenService.resolveClaims(authHeader)
+                : authTokenService.verify(token);
+        if (claims.isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
+        }
+
+        if (!syllabusService.isOwnedBy(id, claims.get().userId())) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!sseProgressObserver.hasTerminalEvent(id)) {
+            // The job may have finished before anyone listened, or on a node whose events never reached this one
+            String status = syllabusService.getSyllabusEntity(id).getStatus();
+            if ("DONE".equals(status) || "PARSED".equals(status)) {
+                sseProgressObserver.onComplete(id, "Syllabus ID: " + id);
+            } else if ("FAILED".equals(status)) {
+                sseProgressObserver.onError(id, "Processing failed");
+            }
+        }
+
+        log.debug("Opening SSE stream for job {} from event {}", id, lastEventId);
+        return ResponseEntity.ok(sseProgressObserver.subscribe(id, parseEventId(lastEventId)));
+    }
+
     @GetMapping("/user")
     public ResponseEntity<?> getUserSyllabi(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
 
         try {
             log.info("=== GET USER SYLLABI REQUEST ===");
@@ -61,37 +137,28 @@ public class SyllabusController {
                         .body(Map.of("error", "No authorization token"));
             }
 
-            String token = authHeader.substring(7);
-            log.info("Token received: {}", token.substring(0, Math.min(20, token.length())) + "...");
-
-            String userEmail = extractEmailFromToken(token);
-
-            if (userEmail == null) {
-                log.error("Could not extract email from token");
+            Optional<AuthTokenService.TokenClaims> claims = authTokenService.resolveClaims(authHeader);
+            if (claims.isEmpty()) {
+                log.error("Invalid, expired or revoked token");
                 return ResponseEntity.status(401)
                         .body(Map.of("error", "Invalid token"));
             }
 
+            String userEmail = claims.get().email();
             log.info("User email from token: {}", userEmail);
 
-            List<Syllabus> syllabi = syllabusService.getUserSyllabi(userEmail);
-            log.info("Found {} syllabi for user {}", syllabi.size(), userEmail);
-
-            List<Map<String, Object>> response = syllabi.stream()
-                    .map(s -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("id", s.getId());
-                        map.put("fileName", s.getFilename());
-                        map.put("uploadDate", s.getUploadDate());
-                        map.put("status", s.getStatus());
-                        log.debug("Mapped syllabus: ID={}, fileName={}", s.getId(), s.getFilename());
-                        return map;
-                    })
-                    .collect(Collectors.toList());
+            if (isPaged(cursor, limit)) {
+                CursorPage<SyllabusDTO> page = syllabusService.getUserSyllabiPage(userEmail, cursor, limit);
+                log.info("Returning page of {} syllabi for user {}", page.getItems().size(), userEmail);
+                return ResponseEntity.ok(page);
+            }
 
-            log.info("Returning {} syllabi", response.size());
-            return ResponseEntity.ok(response);
+            List<SyllabusDTO> syllabi = syllabusService.getUserSyllabi(userEmail);
+            log.info("Returning {} syllabi for user {}", syllabi.size(), userEmail);
+            return ResponseEntity.ok(syllabi);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error getting user syllabi: {}", e.getMessage(), e);
             return ResponseEntity.status(500)
@@ -112,25 +179,21 @@ public class SyllabusController {
     }
 
     @GetMapping("/{id}/topics")
-    public ResponseEntity<?> getSyllabusTopics(@PathVariable Long id) {
+    public ResponseEntity<?> getSyllabusTopics(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         try {
             log.info("Getting topics for syllabus ID: {}", id);
-            List<Topic> topics = syllabusService.getTopicsBySyllabusId(id);
-            log.info("Found {} topics", topics.size());
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(syllabusService.getTopicsPage(id, cursor, limit));
+            }
 
-            List<Map<String, Object>> response = topics.stream()
-                    .map(t -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("id", t.getId());
-                        map.put("title", t.getTitle());
-                        map.put("description", t.getDescription());
-                        map.put("week", t.getWeek());
-                        map.put("difficultyLevel", t.getDifficultyLevel().toString());
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(response);
+            List<TopicDTO> topics = syllabusService.getTopicsBySyllabusId(id);
+            log.info("Found {} topics", topics.size());
+            return ResponseEntity.ok(topics);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error getting topics for syllabus {}: {}", id, e.getMessage());
             return ResponseEntity.status(500)
@@ -142,21 +205,9 @@ public class SyllabusController {
     public ResponseEntity<?> getSyllabusMaterials(@PathVariable Long id) {
         try {
             log.info("Getting materials for syllabus ID: {}", id);
-            List<Material> materials = syllabusService.getMaterialsBySyllabusId(id);
+            List<MaterialDTO> materials = syllabusService.getMaterialsBySyllabusId(id);
             log.info("Found {} materials", materials.size());
-
-            List<Map<String, Object>> response = materials.stream()
-                    .map(m -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("id", m.getId());
-                        map.put("title", m.getTitle());
-                        map.put("type", m.getType().toString());
-                        map.put("url", m.getLink() != null ? m.getLink() : "");
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(materials);
         } catch (Exception e) {
             log.error("Error getting materials for syllabus {}: {}", id, e.getMessage());
             return ResponseEntity.status(500)
@@ -165,25 +216,21 @@ public class SyllabusController {
     }
 
     @GetMapping("/{id}/deadlines")
-    public ResponseEntity<?> getSyllabusDeadlines(@PathVariable Long id) {
+    public ResponseEntity<?> getSyllabusDeadlines(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         try {
             log.info("Getting deadlines for syllabus ID: {}", id);
-            List<Deadline> deadlines = syllabusService.getDeadlinesBySyllabusId(id);
-            log.info("Found {} deadlines", deadlines.size());
+            if (isPaged(cursor, limit)) {
+                return ResponseEntity.ok(syllabusService.getDeadlinesPage(id, cursor, limit));
+            }
 
-            List<Map<String, Object>> response = deadlines.stream()
-                    .map(d -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("id", d.getId());
-                        map.put("title", d.getTitle());
-                        map.put("dueDate", d.getDate());
-                        map.put("type", d.getType().toString());
-                        map.put("description", d.getDescription() != null ? d.getDescription() : "");
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(response);
+            List<DeadlineDTO> deadlines = syllabusService.getDeadlinesBySyllabusId(id);
+            log.info("Found {} deadlines", deadlines.size());
+            return ResponseEntity.ok(deadlines);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error getting deadlines for syllabus {}: {}", id, e.getMessage());
             return ResponseEntity.status(500)
@@ -195,8 +242,10 @@ public class SyllabusController {
     public ResponseEntity<?> getSyllabusOverview(@PathVariable Long id) {
         try {
             log.info("Getting overview for syllabus ID: {}", id);
-            SyllabusOverviewDTO overview = syllabusFacade.getSyllabusOverview(id);
-            return ResponseEntity.ok(overview);
+            String overview = syllabusFacade.getSyllabusOverview(id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(overview);
         } catch (Exception e) {
             log.error("Error getting overview for syllabus {}: {}", id, e.getMessage());
             return ResponseEntity.notFound().build();
@@ -215,38 +264,19 @@ public class SyllabusController {
         }
     }
 
-    private String extractEmailFromToken(String token) {
-        try {
-            if (token == null || !token.startsWith("demo-token-")) {
-                log.error("Invalid token format: {}", token);
-                return null;
-            }
-
-            String[] parts = token.split("-");
-            if (parts.length < 3) {
-                log.error("Token has insufficient parts: {}", parts.length);
-                return null;
-            }
-
-            Long userId = Long.parseLong(parts[2]);
-            log.info("Extracted userId from token: {}", userId);
-
-            return userRepository.findById(userId)
-                    .map(user -> {
-                        log.info("Found user: {}", user.getEmail());
-                        return user.getEmail();
-                    })
-                    .orElseGet(() -> {
-                        log.error("User not found with ID: {}", userId);
-                        return null;
-                    });
+    // Without cursor or limit the endpoints keep returning the full list
+    private boolean isPaged(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
 
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
         } catch (NumberFormatException e) {
-            log.error("Invalid userId in token: {}", e.getMessage());
-            return null;
-        } catch (Exception e) {
-            log.error("Error parsing token: {}", e.getMessage(), e);
-            return null;
+            return 0;
         }
     }
-}
\ No newline at end of file
+}
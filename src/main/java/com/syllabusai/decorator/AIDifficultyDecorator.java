@@ -1,31 +1,58 @@
 package com.syllabusai.decorator;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.syllabusai.adapter.AIService;
+import com.syllabusai.classifier.LocalDifficultyClassifier;
 import com.syllabusai.model.Topic;
+import com.syllabusai.service.DifficultyKnowledgeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Component
 public class AIDifficultyDecorator extends SyllabusDecorator {
 
     private final AIService aiService;
+    private final ObjectMapper objectMapper;
+    private final DifficultyKnowledgeService knowledgeService;
+    private final LocalDifficultyClassifier localClassifier;
+    private final int batchSize;
 
     @Autowired
-    public AIDifficultyDecorator(AIService aiService) {
+    public AIDifficultyDecorator(AIService aiService,
+                                 ObjectMapper objectMapper,
+                                 DifficultyKnowledgeService knowledgeService,
+                                 LocalDifficultyClassifier localClassifier,
+                                 @Value("${app.difficulty.batch-size:25}") int batchSize) {
         super();
         log.debug("Constructor AIDifficultyDecorator(AIService) called");
         this.aiService = aiService;
+        this.objectMapper = objectMapper;
+        this.knowledgeService = knowledgeService;
+        this.localClassifier = localClassifier;
+        this.batchSize = Math.max(1, batchSize);
     }
 
-    public AIDifficultyDecorator(SyllabusContent content, AIService aiService) {
+    public AIDifficultyDecorator(SyllabusContent content, AIService aiService, ObjectMapper objectMapper,
+                                 DifficultyKnowledgeService knowledgeService,
+                                 LocalDifficultyClassifier localClassifier) {
         super(content);
         log.debug("Constructor AIDifficultyDecorator(SyllabusContent, AIService) called"); 
         this.aiService = aiService;
+        this.objectMapper = objectMapper;
+        this.knowledgeService = knowledgeService;
+        this.localClassifier = localClassifier;
+        this.batchSize = 25;
     }
 
     @Override
@@ -75,30 +102,146 @@ public class AIDifficultyDecorator extends SyllabusDecorator {
             return topics != null ? topics : new ArrayList<>();
         }
 
-        log.info("Calculating AI difficulty for {} topics", topics.size());
-        List<Topic> enhancedTopics = new ArrayList<>();
-
-        for (Topic topic : topics) {
-            try {
-                Topic enhancedTopic = enhanceTopicWithAIDifficulty(topic);
-                enhancedTopics.add(enhancedTopic);
-            } catch (Exception e) {
-                log.warn("AI difficulty analysis failed for topic '{}': {}", topic.getTitle(), e.getMessage());
-                enhancedTopics.add(applyFallbackDifficulty(topic));
-            }
+        List<Topic.DifficultyLevel> difficulties = classifyDifficulties(topics);
+        List<Topic> enhancedTopics = new ArrayList<>(topics.size());
+        for (int i = 0; i < topics.size(); i++) {
+            enhancedTopics.add(createEnhancedTopic(topics.get(i), difficulties.get(i)));
         }
 
         log.debug("AI difficulty calculation completed for {} topics", enhancedTopics.size());
         return enhancedTopics;
     }
 
-    private Topic enhanceTopicWithAIDifficulty(Topic topic) {
+    // Safe to call concurrently, unlike getTopics() on this shared bean
+    public List<Topic.DifficultyLevel> classifyDifficulties(List<Topic> topics) {
+        Topic.DifficultyLevel[] difficulties = new Topic.DifficultyLevel[topics.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < topics.size(); i++) {
+            Topic topic = topics.get(i);
+            Optional<Topic.DifficultyLevel> known = knowledgeService.lookup(topic)
+                    .or(() -> localClassifier.classify(topic));
+            if (known.isPresent()) {
+                difficulties[i] = known.get();
+            } else {
+                pending.add(i);
+            }
+        }
+
+        log.info("Calculating AI difficulty for {} of {} topics in batches of {}",
+                pending.size(), topics.size(), batchSize);
+
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            List<Integer> indexes = pending.subList(start, Math.min(start + batchSize, pending.size()));
+            List<Topic> batch = indexes.stream().map(topics::get).toList();
+            Map<Integer, Topic.DifficultyLevel> classified = classifyBatch(batch);
+
+            for (int i = 0; i < batch.size(); i++) {
+                Topic topic = batch.get(i);
+                Topic.DifficultyLevel difficulty = classified.get(i);
+                if (classified.isEmpty()) {
+                    // A failed or empty batch means Gemini is struggling; one call per topic would only add load
+                    difficulties[indexes.get(i)] = determineFallbackDifficulty(topic);
+                    continue;
+                }
+                if (difficulty != null) {
+                    // Only structured batch answers become votes; the single-topic path may be a demo stub
+                    knowledgeService.recordVote(topic, difficulty);
+                    localClassifier.learn(topic, difficulty);
+                    difficulties[indexes.get(i)] = difficulty;
+                    continue;
+                }
+                // The batch answer skipped this topic, so ask for it on its own
+                try {
+                    difficulties[indexes.get(i)] = classifyWithAI(topic);
+                } catch (Exception e) {
+                    log.warn("AI difficulty analysis failed for topic '{}': {}", topic.getTitle(), e.getMessage());
+                    difficulties[indexes.get(i)] = determineFallbackDifficulty(topic);
+                }
+            }
+        }
+
+        return Arrays.asList(difficulties);
+    }
+
+    private Map<Integer, Topic.DifficultyLevel> classifyBatch(List<Topic> batch) {
+        Map<Integer, Topic.DifficultyLevel> result = new HashMap<>();
+        try {
+            String aiResponse = aiService.generateText(createBatchDifficultyPrompt(batch));
+            JsonNode root = objectMapper.readTree(cleanJsonResponse(aiResponse));
+            if (!root.isArray()) {
+                log.warn("Batch difficulty response is not a JSON array");
+                return result;
+            }
+
+            for (JsonNode node : root) {
+                int index = node.path("index").asInt(-1);
+                String difficulty = node.path("difficulty").asText("").trim().toUpperCase();
+                if (index < 0 || index >= batch.size()) {
+                    continue;
+                }
+                try {
+                    result.put(index, Topic.DifficultyLevel.valueOf(difficulty));
+                } catch (IllegalArgumentException e) {
+                    log.debug("Invalid batch difficulty '{}' for topic index {}", difficulty, index);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Batch difficulty analysis failed for {} topics: {}", batch.size(), e.getMessage());
+        }
+
+        log.debug("Batch difficulty classified {} of {} topics", result.size(), batch.size());
+        return result;
+    }
+
+    private String createBatchDifficultyPrompt(List<Topic> batch) {
+        StringBuilder topicsBlock = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            Topic topic = batch.get(i);
+            topicsBlock.append(String.format("%d. [Week %d] %s - %s%n",
+                    i,
+                    topic.getWeek() != null ? topic.getWeek() : 1,
+                    topic.getTitle(),
+                    topic.getDescription() != null ? topic.getDescription() : "No description provided"));
+        }
+
+        return String.format("""
+            Analyze the academic difficulty level of each course topic below for university students.
+            
+            TOPICS:
+            %s
+            Consider complexity of concepts, required background knowledge, technical vs theoretical
+            nature, typical student workload and prerequisites.
+            
+            Classify each topic as:
+            - EASY: Introductory, basic concepts, minimal prerequisites
+            - MEDIUM: Intermediate, some prerequisites, moderate complexity
+            - HARD: Advanced, significant prerequisites, complex concepts
+            
+            Respond ONLY with a JSON array containing one object per topic, using the topic number as index:
+            [{"index": 0, "difficulty": "EASY"}, {"index": 1, "difficulty": "HARD"}]
+            Do not include any explanations or additional text.
+            """, topicsBlock);
+    }
+
+    private String cleanJsonResponse(String response) {
+        String clean = response == null ? "" : response.trim();
+        if (clean.startsWith("```json")) {
+            clean = clean.substring(7);
+        }
+        if (clean.startsWith("```")) {
+            clean = clean.substring(3);
+        }
+        if (clean.endsWith("```")) {
+            clean = clean.substring(0, clean.length() - 3);
+        }
+        return clean.trim();
+    }
+
+    private Topic.DifficultyLevel classifyWithAI(Topic topic) {
         String analysisPrompt = createDifficultyAnalysisPrompt(topic);
         String aiResponse = aiService.generateText(analysisPrompt);
 
-        Topic.DifficultyLevel difficulty = parseAIDifficultyResponse(aiResponse, topic);
-
-        return createEnhancedTopic(topic, difficulty);
+        return parseAIDifficultyResponse(aiResponse, topic);
     }
 
     private String createDifficultyAnalysisPrompt(Topic topic) {
@@ -188,11 +331,6 @@ public class AIDifficultyDecorator extends SyllabusDecorator {
                 .build();
     }
 
-    private Topic applyFallbackDifficulty(Topic topic) {
-        Topic.DifficultyLevel fallbackDifficulty = determineFallbackDifficulty(topic);
-        return createEnhancedTopic(topic, fallbackDifficulty);
-    }
-
     private String enhanceDescription(String originalDescription, Topic.DifficultyLevel difficulty) {
         String baseDescription = originalDescription != null ? originalDescription : "Topic content";
         return String.format("%s [AI Difficulty: %s]", baseDescription, difficulty);
@@ -1,6 +1,7 @@
 package com.syllabusai.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.syllabusai.model.Deadline;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,4 +23,10 @@ public class DeadlineDTO {
 
     private Deadline.DeadlineType type;
     private String description;
+
+    // The per-syllabus deadlines endpoint has always exposed the date as an ISO "dueDate"
+    @JsonProperty(value = "dueDate", access = JsonProperty.Access.READ_ONLY)
+    public LocalDateTime getDueDate() {
+        return date;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.syllabusai.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.syllabusai.model.Deadline;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpcomingDeadlineDTO {
+    private Long id;
+    private String title;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime date;
+
+    private Deadline.DeadlineType type;
+    private String description;
+    private Long syllabusId;
+}
@@ -0,0 +1,15 @@
+package com.syllabusai.exception;
+
+public class AIResponseTruncatedException extends RuntimeException {
+
+    private final String partialResponse;
+
+    public AIResponseTruncatedException(String message, String partialResponse) {
+        super(message);
+        this.partialResponse = partialResponse;
+    }
+
+    public String getPartialResponse() {
+        return partialResponse;
+    }
+}
@@ -31,6 +31,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(AIServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleAIServiceUnavailableException(
+            AIServiceUnavailableException ex, WebRequest request) {
+
+        log.warn("AI service unavailable: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .error("AI_SERVICE_UNAVAILABLE")
+                .message(ex.getMessage())
+                .path(request.getDescription(false))
+                .suggestion("Retry later, or upload with async=true to have the job retried automatically")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<ErrorResponse> handleMaxSizeException(
             MaxUploadSizeExceededException ex, WebRequest request) {
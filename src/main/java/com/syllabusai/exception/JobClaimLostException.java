@@ -0,0 +1,8 @@
+package com.syllabusai.exception;
+
+public class JobClaimLostException extends RuntimeException {
+
+    public JobClaimLostException(Long jobId, String nodeId, int attempt) {
+        super("Job " + jobId + " is no longer claimed by " + nodeId + " on attempt " + attempt);
+    }
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "deadlines", indexes = {
         @Index(name = "idx_deadline_date", columnList = "date"),
-        @Index(name = "idx_deadline_syllabus", columnList = "syllabus_id")
+        @Index(name = "idx_deadline_syllabus_date", columnList = "syllabus_id, date, id"),
+        @Index(name = "idx_deadline_user_date", columnList = "user_id, date, id")
 })
 @Data
 @Builder
@@ -20,7 +21,8 @@ import java.time.LocalDateTime;
 public class Deadline {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deadline_seq")
+    @SequenceGenerator(name = "deadline_seq", sequenceName = "deadlines_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -42,6 +44,18 @@ public class Deadline {
     @JsonIgnore
     private Syllabus syllabus;
 
+    // Copy of syllabus.user_id so the per-user feed is one index range scan without joins
+    @Column(name = "user_id")
+    @JsonIgnore
+    private Long userId;
+
+    @PrePersist
+    void assignOwner() {
+        if (userId == null && syllabus != null && syllabus.getUser() != null) {
+            userId = syllabus.getUser().getId();
+        }
+    }
+
     public enum DeadlineType {
         ASSIGNMENT, EXAM, QUIZ, PROJECT
     }
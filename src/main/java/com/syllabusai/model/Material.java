@@ -14,7 +14,8 @@ import lombok.*;
 public class Material {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "material_seq")
+    @SequenceGenerator(name = "material_seq", sequenceName = "materials_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
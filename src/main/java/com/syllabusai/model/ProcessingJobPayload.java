@@ -0,0 +1,24 @@
+package com.syllabusai.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Kept out of processing_jobs so claim and fence queries never touch the file bytes;
+// rows are streamed in and out through ProcessingJobPayloadStore rather than loaded as entities
+@Entity
+@Table(name = "processing_job_payloads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ProcessingJobPayload {
+
+    @Id
+    @Column(name = "job_id")
+    @EqualsAndHashCode.Include
+    private Long jobId;
+
+    @Column(nullable = false, columnDefinition = "BYTEA")
+    @ToString.Exclude
+    private byte[] data;
+}
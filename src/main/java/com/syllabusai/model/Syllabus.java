@@ -10,7 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "syllabi")
+@Table(name = "syllabi", indexes = {
+        @Index(name = "idx_syllabus_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_syllabus_user_upload", columnList = "user_id, upload_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,7 +22,8 @@ import java.util.List;
 public class Syllabus {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "syllabus_seq")
+    @SequenceGenerator(name = "syllabus_seq", sequenceName = "syllabi_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -32,7 +36,10 @@ public class Syllabus {
     private String filename;
 
     @Column(nullable = false)
-    private String status; // PARSED, PROCESSING, ERROR
+    private String status; // PARSED, ERROR; async jobs: QUEUED, PARSING, EXTRACTING, PERSISTING, DONE, FAILED
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the uploaded file
 
     @CreationTimestamp
     @Column(name = "upload_date", updatable = false)
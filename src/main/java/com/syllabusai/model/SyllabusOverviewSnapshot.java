@@ -0,0 +1,30 @@
+package com.syllabusai.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "syllabus_overview_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class SyllabusOverviewSnapshot {
+
+    @Id
+    @Column(name = "syllabus_id")
+    @EqualsAndHashCode.Include
+    private Long syllabusId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String overview; // SyllabusOverviewDTO without upcomingDeadlines
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
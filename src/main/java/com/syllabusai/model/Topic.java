@@ -6,7 +6,7 @@ import lombok.*;
 
 @Entity
 @Table(name = "topics", indexes = {
-        @Index(name = "idx_topic_syllabus_week", columnList = "syllabus_id, week")
+        @Index(name = "idx_topic_syllabus_week", columnList = "syllabus_id, week, id")
 })
 @Data
 @Builder
@@ -16,7 +16,8 @@ import lombok.*;
 public class Topic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topic_seq")
+    @SequenceGenerator(name = "topic_seq", sequenceName = "topics_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -0,0 +1,63 @@
+package com.syllabusai.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "topic_difficulty_knowledge")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TopicDifficultyKnowledge {
+
+    @Id
+    @Column(length = 64)
+    @EqualsAndHashCode.Include
+    private String fingerprint; // sha256 of the normalized title and description
+
+    @Column(name = "sample_title", nullable = false, columnDefinition = "TEXT")
+    private String sampleTitle;
+
+    @Column(name = "easy_votes", nullable = false)
+    private long easyVotes;
+
+    @Column(name = "medium_votes", nullable = false)
+    private long mediumVotes;
+
+    @Column(name = "hard_votes", nullable = false)
+    private long hardVotes;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public long getTotalVotes() {
+        return easyVotes + mediumVotes + hardVotes;
+    }
+
+    public Topic.DifficultyLevel getLeadingDifficulty() {
+        if (hardVotes > mediumVotes && hardVotes > easyVotes) {
+            return Topic.DifficultyLevel.HARD;
+        }
+        if (easyVotes > mediumVotes && easyVotes > hardVotes) {
+            return Topic.DifficultyLevel.EASY;
+        }
+        return Topic.DifficultyLevel.MEDIUM;
+    }
+
+    public double getConfidence() {
+        long total = getTotalVotes();
+        if (total == 0) {
+            return 0;
+        }
+        long leading = switch (getLeadingDifficulty()) {
+            case EASY -> easyVotes;
+            case MEDIUM -> mediumVotes;
+            case HARD -> hardVotes;
+        };
+        return (double) leading / total;
+    }
+}
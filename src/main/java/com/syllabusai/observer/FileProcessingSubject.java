@@ -3,7 +3,6 @@ package com.syllabusai.observer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -13,6 +12,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class FileProcessingSubject implements ProgressSubject {
 
     private final List<ProgressObserver> observers = new CopyOnWriteArrayList<>();
+    private final ProgressEventRelay relay;
+
+    public FileProcessingSubject(List<ProgressObserver> progressObservers, ProgressEventRelay relay) {
+        progressObservers.forEach(this::attach);
+        this.relay = relay;
+        relay.onRemoteEvent(this::dispatchRemote);
+    }
 
     @Override
     public void attach(ProgressObserver observer) {
@@ -29,44 +35,85 @@ public class FileProcessingSubject implements ProgressSubject {
     }
 
     @Override
-    public void notifyProgress(int progress, String message) {
-        log.debug("Progress update: {}% - {}", progress, message);
+    public void notifyProgress(Long jobId, int progress, String message) {
+        log.debug("Progress update for job {}: {}% - {}", jobId, progress, message);
+        dispatchProgress(jobId, progress, message);
+        relay.publish("PROGRESS", jobId, progress, message);
+    }
+
+    @Override
+    public void notifyComplete(Long jobId, String result) {
+        log.info("Processing complete for job {}: {}", jobId, result);
+        dispatchComplete(jobId, result);
+        relay.publish("COMPLETE", jobId, 100, result);
+    }
+
+    @Override
+    public void notifyError(Long jobId, String error) {
+        log.error("Processing error for job {}: {}", jobId, error);
+        dispatchError(jobId, error);
+        relay.publish("ERROR", jobId, 0, error);
+    }
+
+    @Override
+    public void notifyEnriched(Long jobId, String message) {
+        log.info("Job {} enriched: {}", jobId, message);
+        dispatchEnriched(jobId, message);
+        relay.publish("ENRICHED", jobId, 100, message);
+    }
+
+    // Events produced on another node go to the local observers only, never back to the relay
+    private void dispatchRemote(ProgressEventRelay.RelayedEvent event) {
+        log.debug("Relayed {} event for job {}", event.type(), event.jobId());
+        switch (event.type()) {
+            case "PROGRESS" -> dispatchProgress(event.jobId(), event.progress(), event.message());
+            case "COMPLETE" -> dispatchComplete(event.jobId(), event.message());
+            case "ERROR" -> dispatchError(event.jobId(), event.message());
+            case "ENRICHED" -> dispatchEnriched(event.jobId(), event.message());
+            default -> log.warn("Ignoring relayed event of unknown type {}", event.type());
+        }
+    }
 
+    private void dispatchProgress(Long jobId, int progress, String message) {
         for (ProgressObserver observer : observers) {
             try {
-                observer.update(progress, message);
+                observer.update(jobId, progress, message);
             } catch (Exception e) {
                 log.warn("Progress observer failed: {}", e.getMessage());
             }
         }
     }
 
-    @Override
-    public void notifyComplete(String result) {
-        log.info("Processing complete: {}", result);
-
+    private void dispatchComplete(Long jobId, String result) {
         for (ProgressObserver observer : observers) {
             try {
-                observer.onComplete(result);
+                observer.onComplete(jobId, result);
             } catch (Exception e) {
                 log.warn("Completion observer failed: {}", e.getMessage());
             }
         }
     }
 
-    @Override
-    public void notifyError(String error) {
-        log.error("Processing error: {}", error);
-
+    private void dispatchError(Long jobId, String error) {
         for (ProgressObserver observer : observers) {
             try {
-                observer.onError(error);
+                observer.onError(jobId, error);
             } catch (Exception e) {
                 log.warn("Error observer failed: {}", e.getMessage());
             }
         }
     }
 
+    private void dispatchEnriched(Long jobId, String message) {
+        for (ProgressObserver observer : observers) {
+            try {
+                observer.onEnriched(jobId, message);
+            } catch (Exception e) {
+                log.warn("Enrichment observer failed: {}", e.getMessage());
+            }
+        }
+    }
+
     public int getObserverCount() {
         return observers.size();
     }
@@ -0,0 +1,162 @@
+package com.syllabusai.observer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class ProgressEventRelay {
+
+    // NOTIFY payloads are capped at 8000 bytes
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final boolean enabled;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile Consumer<RelayedEvent> remoteEventHandler = event -> {
+    };
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    public ProgressEventRelay(JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.progress.relay.enabled:true}") boolean enabled,
+                              @Value("${app.progress.relay.channel:syllabus_progress}") String channel,
+                              @Value("${app.progress.relay.reconnect-delay:5s}") Duration reconnectDelay,
+                              @Value("${spring.datasource.url}") String url,
+                              @Value("${spring.datasource.username:}") String username,
+                              @Value("${spring.datasource.password:}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public void onRemoteEvent(Consumer<RelayedEvent> handler) {
+        this.remoteEventHandler = handler;
+    }
+
+    public void publish(String type, Long jobId, int progress, String message) {
+        if (!enabled || jobId == null) {
+            return;
+        }
+        try {
+            String text = message != null && message.length() > MAX_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_MESSAGE_LENGTH)
+                    : message;
+            String payload = objectMapper.writeValueAsString(new RelayedEvent(nodeId, type, jobId, progress, text));
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+        } catch (Exception e) {
+            // The local observers already have the event; only other nodes miss it
+            log.warn("Failed to relay {} event of job {}: {}", type, jobId, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Progress event relay disabled, events stay on the node that produced them");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "progress-relay-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    // A dedicated connection outside the pool: LISTEN is bound to the session and it is held for good
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for progress events of other nodes on channel {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Progress relay connection lost, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            RelayedEvent event = objectMapper.readValue(payload, RelayedEvent.class);
+            if (!nodeId.equals(event.origin())) {
+                remoteEventHandler.accept(event);
+            }
+        } catch (Exception e) {
+            log.warn("Dropping malformed progress notification: {}", e.getMessage());
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close progress relay connection: {}", e.getMessage());
+        }
+    }
+
+    public record RelayedEvent(String origin, String type, Long jobId, int progress, String message) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.syllabusai.observer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ProgressMessageFactory {
+
+    private final ObjectMapper objectMapper;
+
+    public String progress(Long jobId, int progress, String message) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "type", "PROGRESS",
+                    "jobId", jobId,
+                    "timestamp", System.currentTimeMillis(),
+                    "progress", progress,
+                    "message", message,
+                    "stage", determineProcessingStage(progress)
+            ));
+        } catch (Exception e) {
+            return String.format(
+                    "{\"type\": \"PROGRESS\", \"jobId\": %d, \"progress\": %d, \"message\": \"%s\", \"timestamp\": %d}",
+                    jobId, progress, message, System.currentTimeMillis()
+            );
+        }
+    }
+
+    public String complete(Long jobId, String result) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "type", "COMPLETE",
+                    "jobId", jobId,
+                    "timestamp", System.currentTimeMillis(),
+                    "result", result,
+                    "success", true
+            ));
+        } catch (Exception e) {
+            return String.format(
+                    "{\"type\": \"COMPLETE\", \"jobId\": %d, \"result\": \"%s\", \"timestamp\": %d, \"success\": true}",
+                    jobId, result, System.currentTimeMillis()
+            );
+        }
+    }
+
+    public String enriched(Long jobId, String message) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "type", "ENRICHED",
+                    "jobId", jobId,
+                    "timestamp", System.currentTimeMillis(),
+                    "message", message
+            ));
+        } catch (Exception e) {
+            return String.format(
+                    "{\"type\": \"ENRICHED\", \"jobId\": %d, \"message\": \"%s\", \"timestamp\": %d}",
+                    jobId, message, System.currentTimeMillis()
+            );
+        }
+    }
+
+    public String error(Long jobId, String error) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "type", "ERROR",
+                    "jobId", jobId,
+                    "timestamp", System.currentTimeMillis(),
+                    "error", error,
+                    "success", false,
+                    "suggestion", generateErrorSuggestion(error)
+            ));
+        } catch (Exception e) {
+            return String.format(
+                    "{\"type\": \"ERROR\", \"jobId\": %d, \"error\": \"%s\", \"timestamp\": %d, \"success\": false}",
+                    jobId, error, System.currentTimeMillis()
+            );
+        }
+    }
+
+    private String determineProcessingStage(int progress) {
+        if (progress <= 20) return "VALIDATION";
+        if (progress <= 40) return "EXTRACTION";
+        if (progress <= 60) return "ANALYSIS";
+        if (progress <= 80) return "ENHANCEMENT";
+        return "FINALIZING";
+    }
+
+    private String generateErrorSuggestion(String error) {
+        if (error.toLowerCase().contains("file") || error.toLowerCase().contains("pdf")) {
+            return "Please ensure the file is a valid PDF and try again.";
+        } else if (error.toLowerCase().contains("size") || error.toLowerCase().contains("large")) {
+            return "File size may be too large. Please try a smaller file (max 50MB).";
+        } else if (error.toLowerCase().contains("ai") || error.toLowerCase().contains("api")) {
+            return "AI service temporarily unavailable. Please try again in a few moments.";
+        } else {
+            return "An unexpected error occurred. Please try again or contact support.";
+        }
+    }
+}
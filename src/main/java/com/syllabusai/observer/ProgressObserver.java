@@ -1,7 +1,11 @@
 package com.syllabusai.observer;
 
 public interface ProgressObserver {
-    void update(int progress, String message);
-    void onComplete(String result);
-    void onError(String error);
-}
\ No newline at end of file
+    void update(Long jobId, int progress, String message);
+    void onComplete(Long jobId, String result);
+    void onError(Long jobId, String error);
+
+    // Follow-up work on an already completed job, e.g. background difficulty enrichment
+    default void onEnriched(Long jobId, String message) {
+    }
+}
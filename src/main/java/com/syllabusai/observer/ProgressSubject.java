@@ -3,7 +3,9 @@ package com.syllabusai.observer;
 public interface ProgressSubject {
     void attach(ProgressObserver observer);
     void detach(ProgressObserver observer);
-    void notifyProgress(int progress, String message);
-    void notifyComplete(String result);
-    void notifyError(String error);
-}
\ No newline at end of file
+    void notifyProgress(Long jobId, int progress, String message);
+    void notifyComplete(Long jobId, String result);
+    void notifyError(Long jobId, String error);
+    void notifyEnriched(Long jobId, String message);
+
+}
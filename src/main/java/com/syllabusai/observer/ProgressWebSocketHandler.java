@@ -0,0 +1,114 @@
+package com.syllabusai.observer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syllabusai.repository.SyllabusRepository;
+import com.syllabusai.service.AuthTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgressWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String USER_ID_ATTRIBUTE = "userId";
+
+    private final WebSocketProgressObserver progressObserver;
+    private final AuthTokenService authTokenService;
+    private final SyllabusRepository syllabusRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Optional<Long> userId = Optional.ofNullable(queryParam(session, "token"))
+                .flatMap(authTokenService::verify)
+                .map(AuthTokenService.TokenClaims::userId);
+
+        if (userId.isEmpty()) {
+            log.debug("Rejecting WebSocket session {} without a valid token", session.getId());
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Invalid token"));
+            return;
+        }
+
+        session.getAttributes().put(USER_ID_ATTRIBUTE, userId.get());
+        progressObserver.registerSession(session.getId(), session);
+
+        String jobId = queryParam(session, "jobId");
+        if (jobId != null) {
+            try {
+                subscribe(session, Long.parseLong(jobId));
+            } catch (NumberFormatException e) {
+                progressObserver.sendNotification(session.getId(), "REJECTED", "Invalid jobId: " + jobId);
+            }
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        try {
+            JsonNode request = objectMapper.readTree(message.getPayload());
+            String action = request.path("action").asText("");
+            JsonNode jobId = request.path("jobId");
+
+            if (!jobId.canConvertToLong()) {
+                progressObserver.sendNotification(session.getId(), "REJECTED", "jobId is required");
+                return;
+            }
+
+            switch (action) {
+                case "subscribe" -> subscribe(session, jobId.asLong());
+                case "unsubscribe" -> progressObserver.unsubscribe(session.getId(), jobId.asLong());
+                default -> progressObserver.sendNotification(session.getId(), "REJECTED", "Unknown action: " + action);
+            }
+        } catch (Exception e) {
+            log.debug("Invalid WebSocket message from session {}: {}", session.getId(), e.getMessage());
+            progressObserver.sendNotification(session.getId(), "REJECTED", "Invalid message");
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        progressObserver.unregisterSession(session.getId());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("WebSocket transport error on session {}: {}", session.getId(), exception.getMessage());
+        progressObserver.unregisterSession(session.getId());
+    }
+
+    private void subscribe(WebSocketSession session, Long jobId) {
+        Long userId = (Long) session.getAttributes().get(USER_ID_ATTRIBUTE);
+        if (!syllabusRepository.existsByUserIdAndId(userId, jobId)) {
+            progressObserver.sendNotification(session.getId(), "REJECTED", "Unknown job: " + jobId);
+            return;
+        }
+
+        progressObserver.subscribe(session.getId(), jobId);
+        progressObserver.sendNotification(session.getId(), "SUBSCRIBED", "Subscribed to job " + jobId);
+
+        // Read after subscribing: the job may have finished before anyone listened, or on another node
+        String status = syllabusRepository.findStatusByUserIdAndId(userId, jobId).orElse("");
+        if ("DONE".equals(status) || "PARSED".equals(status)) {
+            progressObserver.sendTerminal(session.getId(), jobId, "Syllabus ID: " + jobId, false);
+        } else if ("FAILED".equals(status)) {
+            progressObserver.sendTerminal(session.getId(), jobId, "Processing failed", true);
+        }
+    }
+
+    private String queryParam(WebSocketSession session, String name) {
+        if (session.getUri() == null) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst(name);
+    }
+}
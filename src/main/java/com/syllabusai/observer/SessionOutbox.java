@@ -0,0 +1,232 @@
+package com.syllabusai.observer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+class SessionOutbox {
+
+    private static final long CLOSE_RETRY_DELAY_MILLIS = 500;
+
+    private final WebSocketSession session;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final long sendTimeLimitNanos;
+    private final long bufferSizeLimit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Outgoing> pending = new ArrayDeque<>();
+    // Queued PROGRESS entries that later progress of the same job may still overwrite
+    private final Map<Long, Outgoing> coalescible = new HashMap<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long sendStartedAt;
+
+    SessionOutbox(WebSocketSession session, ThreadPoolTaskExecutor sendExecutor,
+                  long sendTimeLimitMillis, long bufferSizeLimit) {
+        this.session = session;
+        this.sendExecutor = sendExecutor;
+        this.sendTimeLimitNanos = sendTimeLimitMillis * 1_000_000L;
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    // A queued PROGRESS is overwritten by the job's next one, so COMPLETE/ERROR always follows the last PROGRESS
+    boolean offerProgress(Long jobId, String message) {
+        lock.lock();
+        try {
+            Outgoing queued = coalescible.get(jobId);
+            if (queued != null) {
+                bufferedBytes.addAndGet(message.length() - queued.message.length());
+                queued.message = message;
+            } else {
+                Outgoing outgoing = new Outgoing(jobId, message);
+                pending.addLast(outgoing);
+                coalescible.put(jobId, outgoing);
+                bufferedBytes.addAndGet(message.length());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return afterOffer();
+    }
+
+    boolean offer(String message) {
+        lock.lock();
+        try {
+            pending.addLast(new Outgoing(null, message));
+            // Progress offered after this message has to be sent after it as well
+            coalescible.clear();
+            bufferedBytes.addAndGet(message.length());
+        } finally {
+            lock.unlock();
+        }
+        return afterOffer();
+    }
+
+    String getId() {
+        return session.getId();
+    }
+
+    void close(CloseStatus status) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
+            pending.clear();
+            coalescible.clear();
+        } finally {
+            lock.unlock();
+        }
+        submitClose(status);
+    }
+
+    // For the watchdog: a send blocked on a stalled client holds a sender thread, so the close cannot wait
+    // for a free one. Closing the socket also fails the blocked send and frees its thread
+    void abort() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
+            pending.clear();
+            coalescible.clear();
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    boolean isSendStalled(long now) {
+        long startedAt = sendStartedAt;
+        return startedAt != 0 && now - startedAt > sendTimeLimitNanos;
+    }
+
+    // Closing a stalled socket can block too, so it never runs on the producer thread. A saturated
+    // sender pool only delays the close; giving up would leave the socket open for good
+    private void submitClose(CloseStatus status) {
+        try {
+            sendExecutor.execute(() -> closeQuietly(status));
+        } catch (TaskRejectedException e) {
+            log.debug("Sender pool saturated, retrying close of session {}", session.getId());
+            CompletableFuture.delayedExecutor(CLOSE_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .execute(() -> submitClose(status));
+        }
+    }
+
+    private boolean afterOffer() {
+        if (closed.get() || !session.isOpen()) {
+            return false;
+        }
+        if (isSendStalled(System.nanoTime())) {
+            log.warn("WebSocket session {} exceeded the send time limit", session.getId());
+            return false;
+        }
+        if (bufferedBytes.get() > bufferSizeLimit) {
+            log.warn("WebSocket session {} exceeded the buffer size limit ({} bytes)", session.getId(), bufferedBytes.get());
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            // Messages stay buffered and the next offer retries
+            draining.set(false);
+            log.debug("Sender pool saturated, deferring drain of session {}", session.getId());
+        }
+    }
+
+    private void drain() {
+        try {
+            String message;
+            while (!closed.get() && (message = poll()) != null) {
+                send(message);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to send WebSocket message to session {}: {}", session.getId(), e.getMessage());
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+        }
+
+        if (!closed.get() && hasPending()) {
+            scheduleDrain();
+        }
+    }
+
+    private String poll() {
+        lock.lock();
+        try {
+            Outgoing next = pending.pollFirst();
+            if (next == null) {
+                return null;
+            }
+            if (next.jobId != null) {
+                coalescible.remove(next.jobId, next);
+            }
+            return next.message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasPending() {
+        lock.lock();
+        try {
+            return !pending.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void send(String message) throws IOException {
+        sendStartedAt = System.nanoTime();
+        try {
+            session.sendMessage(new TextMessage(message));
+        } finally {
+            sendStartedAt = 0;
+            bufferedBytes.addAndGet(-message.length());
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        try {
+            if (session.isOpen()) {
+                session.close(status);
+            }
+        } catch (IOException e) {
+            log.debug("Error closing WebSocket session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static final class Outgoing {
+        private final Long jobId; // set for PROGRESS only
+        private String message;
+
+        private Outgoing(Long jobId, String message) {
+            this.jobId = jobId;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.syllabusai.observer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class SseProgressObserver implements ProgressObserver {
+
+    private final Map<Long, JobStream> streams = new ConcurrentHashMap<>();
+    private final ProgressMessageFactory messageFactory;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final int replayBufferSize;
+    private final Duration terminalRetention;
+    private final Duration idleRetention;
+    private final Duration emitterTimeout;
+
+    public SseProgressObserver(ProgressMessageFactory messageFactory,
+                               @Qualifier("sseSendExecutor") ThreadPoolTaskExecutor sendExecutor,
+                               @Value("${app.sse.replay-buffer-size:32}") int replayBufferSize,
+                               @Value("${app.sse.terminal-retention:5m}") Duration terminalRetention,
+                               @Value("${app.sse.idle-retention:1h}") Duration idleRetention,
+                               @Value("${app.sse.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.messageFactory = messageFactory;
+        this.sendExecutor = sendExecutor;
+        this.replayBufferSize = replayBufferSize;
+        this.terminalRetention = terminalRetention;
+        this.idleRetention = idleRetention;
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    @Override
+    public void update(Long jobId, int progress, String message) {
+        if (jobId != null) {
+            stream(jobId).publish("PROGRESS", messageFactory.progress(jobId, progress, message), false);
+        }
+    }
+
+    @Override
+    public void onComplete(Long jobId, String result) {
+        if (jobId != null) {
+            stream(jobId).publish("COMPLETE", messageFactory.complete(jobId, result), true);
+        }
+    }
+
+    @Override
+    public void onError(Long jobId, String error) {
+        if (jobId != null) {
+            stream(jobId).publish("ERROR", messageFactory.error(jobId, error), true);
+        }
+    }
+
+    // Published after COMPLETE; clients reconnecting with Last-Event-ID pick it up from the buffer
+    @Override
+    public void onEnriched(Long jobId, String message) {
+        if (jobId != null) {
+            JobStream stream = streams.get(jobId);
+            if (stream != null) {
+                stream.publish("ENRICHED", messageFactory.enriched(jobId, message), false);
+            }
+        }
+    }
+
+    public boolean hasTerminalEvent(Long jobId) {
+        JobStream stream = streams.get(jobId);
+        return stream != null && stream.terminal;
+    }
+
+    public SseEmitter subscribe(Long jobId, long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        attach(jobId, emitter, lastEventId);
+        return emitter;
+    }
+
+    void attach(Long jobId, SseEmitter emitter, long lastEventId) {
+        stream(jobId).attach(emitter, lastEventId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.cleanup-interval-ms:60000}")
+    public void evictExpiredStreams() {
+        long now = System.currentTimeMillis();
+        streams.entrySet().removeIf(entry -> {
+            JobStream stream = entry.getValue();
+            boolean expired = stream.terminal
+                    ? now - stream.terminalAt > terminalRetention.toMillis()
+                    : now - stream.lastEventAt > idleRetention.toMillis();
+            if (expired) {
+                stream.completeAll();
+                log.debug("Evicted SSE stream for job {}", entry.getKey());
+            }
+            return expired;
+        });
+    }
+
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    private JobStream stream(Long jobId) {
+        return streams.computeIfAbsent(jobId, JobStream::new);
+    }
+
+    private record SseEvent(long id, String type, String data, boolean terminal) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long lastSentId;
+
+        private Subscriber(SseEmitter emitter, long lastSentId) {
+            this.emitter = emitter;
+            this.lastSentId = lastSentId;
+        }
+    }
+
+    private final class JobStream {
+
+        private final Long jobId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<SseEvent> buffer = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private long nextId = 1;
+        private volatile long latestId;
+        private volatile boolean terminal;
+        private volatile long terminalAt;
+        private volatile long lastEventAt = System.currentTimeMillis();
+
+        private JobStream(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        void publish(String type, String data, boolean terminalEvent) {
+            lock.lock();
+            try {
+                if (terminal && terminalEvent) {
+                    return;
+                }
+                buffer.addLast(new SseEvent(nextId++, type, data, terminalEvent));
+                if (buffer.size() > replayBufferSize) {
+                    buffer.removeFirst();
+                }
+                lastEventAt = System.currentTimeMillis();
+                if (terminalEvent) {
+                    terminal = true;
+                    terminalAt = lastEventAt;
+                }
+                latestId = nextId - 1;
+            } finally {
+                lock.unlock();
+            }
+            scheduleDrain();
+        }
+
+        void attach(SseEmitter emitter, long lastEventId) {
+            long resumeAfter;
+            lock.lock();
+            try {
+                // A Last-Event-ID from before this stream was recreated means the client has seen none of it
+                resumeAfter = lastEventId < nextId ? lastEventId : 0;
+            } finally {
+                lock.unlock();
+            }
+
+            Subscriber subscriber = new Subscriber(emitter, resumeAfter);
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> subscribers.remove(subscriber));
+            emitter.onError(e -> subscribers.remove(subscriber));
+            subscribers.add(subscriber);
+            scheduleDrain();
+        }
+
+        void completeAll() {
+            subscribers.forEach(subscriber -> completeQuietly(subscriber.emitter));
+            subscribers.clear();
+        }
+
+        private void scheduleDrain() {
+            if (subscribers.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Events stay in the ring buffer and the next publish retries
+                draining.set(false);
+                log.debug("Sender pool saturated, deferring SSE drain for job {}", jobId);
+            }
+        }
+
+        private void drain() {
+            try {
+                boolean sentAny = true;
+                while (sentAny) {
+                    sentAny = false;
+                    for (Subscriber subscriber : subscribers) {
+                        sentAny |= sendPending(subscriber);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+
+            if (hasPending()) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean sendPending(Subscriber subscriber) {
+            boolean sent = false;
+            try {
+                for (SseEvent event : eventsAfter(subscriber.lastSentId)) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name(event.type())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                    subscriber.lastSentId = event.id();
+                    sent = true;
+                }
+                // Once the job has finished, a subscriber that has caught up has nothing more to wait for
+                if (terminal && subscriber.lastSentId >= latestId) {
+                    subscribers.remove(subscriber);
+                    completeQuietly(subscriber.emitter);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE client for job {} went away: {}", jobId, e.getMessage());
+                subscribers.remove(subscriber);
+                completeQuietly(subscriber.emitter);
+            }
+            return sent;
+        }
+
+        private List<SseEvent> eventsAfter(long eventId) {
+            lock.lock();
+            try {
+                List<SseEvent> events = new ArrayList<>();
+                for (SseEvent event : buffer) {
+                    if (event.id() > eventId) {
+                        events.add(event);
+                    }
+                }
+                return events;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean hasPending() {
+            lock.lock();
+            try {
+                long latest = nextId - 1;
+                return subscribers.stream().anyMatch(subscriber -> subscriber.lastSentId < latest);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void completeQuietly(SseEmitter emitter) {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Failed to complete SSE emitter for job {}: {}", jobId, e.getMessage());
+            }
+        }
+    }
+}
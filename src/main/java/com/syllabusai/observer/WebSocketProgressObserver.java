@@ -1,156 +1,244 @@
 package com.syllabusai.observer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.web.socket.TextMessage;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class WebSocketProgressObserver implements ProgressObserver {
 
-    private final Map<String, WebSocketSession> activeSessions = new ConcurrentHashMap<>();
+    private final Map<String, SessionOutbox> activeSessions = new ConcurrentHashMap<>();
+    // Routing map: job ID -> subscribed session IDs, plus the reverse index for cleanup on disconnect
+    private final Map<Long, Set<String>> subscribersByJob = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> jobsBySession = new ConcurrentHashMap<>();
+    // Completed jobs whose subscribers stay attached for the ENRICHED event, with their completion time
+    private final Map<Long, Long> awaitingEnrichment = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper;
+    private final ProgressMessageFactory messageFactory;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final long sendTimeLimitMillis;
+    private final long bufferSizeLimit;
+    private final long enrichmentWaitMillis;
+    private final Counter droppedSessions;
+
+    public WebSocketProgressObserver(ObjectMapper objectMapper,
+                                     ProgressMessageFactory messageFactory,
+                                     @Qualifier("progressSendExecutor") ThreadPoolTaskExecutor sendExecutor,
+                                     @Value("${app.websocket.send-time-limit:10s}") Duration sendTimeLimit,
+                                     @Value("${app.websocket.buffer-size-limit:256KB}") DataSize bufferSizeLimit,
+                                     @Value("${app.websocket.enrichment-wait:5m}") Duration enrichmentWait,
+                                     MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.messageFactory = messageFactory;
+        this.sendExecutor = sendExecutor;
+        this.sendTimeLimitMillis = sendTimeLimit.toMillis();
+        this.bufferSizeLimit = bufferSizeLimit.toBytes();
+        this.enrichmentWaitMillis = enrichmentWait.toMillis();
+        this.droppedSessions = Counter.builder("websocket.sessions.dropped")
+                .description("Sessions closed for exceeding the send time or buffer size limit")
+                .register(meterRegistry);
+    }
 
     public void registerSession(String sessionId, WebSocketSession session) {
-        activeSessions.put(sessionId, session);
+        activeSessions.put(sessionId, new SessionOutbox(session, sendExecutor, sendTimeLimitMillis, bufferSizeLimit));
         log.debug("Registered WebSocket session: {}", sessionId);
     }
 
     public void unregisterSession(String sessionId) {
-        activeSessions.remove(sessionId);
+        SessionOutbox outbox = activeSessions.remove(sessionId);
+        if (outbox != null) {
+            outbox.close(CloseStatus.NORMAL);
+        }
+        Set<Long> jobIds = jobsBySession.remove(sessionId);
+        if (jobIds != null) {
+            jobIds.forEach(jobId -> removeSubscriber(jobId, sessionId));
+        }
         log.debug("Unregistered WebSocket session: {}", sessionId);
     }
 
+    public void subscribe(String sessionId, Long jobId) {
+        subscribersByJob.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        jobsBySession.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(jobId);
+        log.debug("Session {} subscribed to job {}", sessionId, jobId);
+    }
+
+    public void unsubscribe(String sessionId, Long jobId) {
+        removeSubscriber(jobId, sessionId);
+        Set<Long> jobIds = jobsBySession.get(sessionId);
+        if (jobIds != null) {
+            jobIds.remove(jobId);
+        }
+        log.debug("Session {} unsubscribed from job {}", sessionId, jobId);
+    }
+
     @Override
-    public void update(int progress, String message) {
-        broadcastMessage(createProgressMessage(progress, message));
-        log.debug("WebSocket progress update: {}% - {}", progress, message);
+    public void update(Long jobId, int progress, String message) {
+        if (hasSubscribers(jobId)) {
+            sendToSubscribers(jobId, messageFactory.progress(jobId, progress, message), true);
+            log.debug("WebSocket progress update for job {}: {}% - {}", jobId, progress, message);
+        }
     }
 
     @Override
-    public void onComplete(String result) {
-        broadcastMessage(createCompletionMessage(result));
-        log.info("WebSocket processing complete: {}", result);
+    public void onComplete(Long jobId, String result) {
+        if (hasSubscribers(jobId)) {
+            sendToSubscribers(jobId, messageFactory.complete(jobId, result), false);
+            // Difficulty enrichment follows every completed job and ends it with ENRICHED
+            awaitingEnrichment.put(jobId, System.currentTimeMillis());
+            log.info("WebSocket processing complete for job {}: {}", jobId, result);
+        }
     }
 
     @Override
-    public void onError(String error) {
-        broadcastMessage(createErrorMessage(error));
-        log.error("WebSocket processing error: {}", error);
+    public void onError(Long jobId, String error) {
+        if (hasSubscribers(jobId)) {
+            sendToSubscribers(jobId, messageFactory.error(jobId, error), false);
+            releaseJob(jobId);
+            log.error("WebSocket processing error for job {}: {}", jobId, error);
+        }
     }
 
-    private void broadcastMessage(String message) {
-        activeSessions.values().forEach(session -> {
-            try {
-                if (session.isOpen()) {
-                    synchronized (session) {
-                        session.sendMessage(new TextMessage(message));
-                    }
-                } else {
-                    unregisterSession(session.getId());
-                }
-            } catch (IOException e) {
-                log.warn("Failed to send WebSocket message to session {}: {}", session.getId(), e.getMessage());
-                unregisterSession(session.getId());
+    // Late subscribers get the terminal event on their own session; the others already had it
+    public void sendTerminal(String sessionId, Long jobId, String message, boolean failed) {
+        SessionOutbox outbox = activeSessions.get(sessionId);
+        if (outbox == null) {
+            return;
+        }
+        String event = failed ? messageFactory.error(jobId, message) : messageFactory.complete(jobId, message);
+        if (!outbox.offer(event)) {
+            dropSession(outbox);
+        } else if (failed) {
+            unsubscribe(sessionId, jobId);
+        } else {
+            // Enrichment may still be running; the stale-job sweep releases the subscription if ENRICHED never comes
+            awaitingEnrichment.putIfAbsent(jobId, System.currentTimeMillis());
+        }
+    }
+
+    private boolean hasSubscribers(Long jobId) {
+        return jobId != null && subscribersByJob.containsKey(jobId);
+    }
+
+    @Override
+    public void onEnriched(Long jobId, String message) {
+        if (hasSubscribers(jobId)) {
+            sendToSubscribers(jobId, messageFactory.enriched(jobId, message), false);
+            releaseJob(jobId);
+            log.debug("WebSocket enrichment for job {}: {}", jobId, message);
+        }
+    }
+
+    // Releases completed jobs whose ENRICHED never arrived, e.g. because the node running it restarted
+    @Scheduled(fixedDelayString = "${app.websocket.cleanup-interval-ms:60000}")
+    public void releaseStaleCompletedJobs() {
+        long now = System.currentTimeMillis();
+        awaitingEnrichment.forEach((jobId, completedAt) -> {
+            if (now - completedAt > enrichmentWaitMillis) {
+                releaseJob(jobId);
             }
         });
     }
 
-    private String createProgressMessage(int progress, String message) {
-        try {
-            return objectMapper.writeValueAsString(Map.of(
-                    "type", "PROGRESS",
-                    "timestamp", System.currentTimeMillis(),
-                    "progress", progress,
-                    "message", message,
-                    "stage", determineProcessingStage(progress)
-            ));
-        } catch (Exception e) {
-            return String.format(
-                    "{\"type\": \"PROGRESS\", \"progress\": %d, \"message\": \"%s\", \"timestamp\": %d}",
-                    progress, message, System.currentTimeMillis()
-            );
-        }
+    // A stalled send is caught here rather than on the next offer, which may never come
+    @Scheduled(fixedDelayString = "${app.websocket.watchdog-interval-ms:1000}")
+    public void closeStalledSessions() {
+        long now = System.nanoTime();
+        activeSessions.values().forEach(outbox -> {
+            if (outbox.isSendStalled(now)) {
+                log.warn("WebSocket session {} exceeded the send time limit, closing it", outbox.getId());
+                droppedSessions.increment();
+                outbox.abort();
+                unregisterSession(outbox.getId());
+            }
+        });
     }
 
-    private String createCompletionMessage(String result) {
-        try {
-            return objectMapper.writeValueAsString(Map.of(
-                    "type", "COMPLETE",
-                    "timestamp", System.currentTimeMillis(),
-                    "result", result,
-                    "success", true
-            ));
-        } catch (Exception e) {
-            return String.format(
-                    "{\"type\": \"COMPLETE\", \"result\": \"%s\", \"timestamp\": %d, \"success\": true}",
-                    result, System.currentTimeMillis()
-            );
+    // Only enqueues; the processing thread never waits on a client's network I/O
+    private void sendToSubscribers(Long jobId, String message, boolean progress) {
+        Set<String> sessionIds = subscribersByJob.get(jobId);
+        if (sessionIds == null) {
+            return;
         }
-    }
 
-    private String createErrorMessage(String error) {
-        try {
-            return objectMapper.writeValueAsString(Map.of(
-                    "type", "ERROR",
-                    "timestamp", System.currentTimeMillis(),
-                    "error", error,
-                    "success", false,
-                    "suggestion", generateErrorSuggestion(error)
-            ));
-        } catch (Exception e) {
-            return String.format(
-                    "{\"type\": \"ERROR\", \"error\": \"%s\", \"timestamp\": %d, \"success\": false}",
-                    error, System.currentTimeMillis()
-            );
+        for (String sessionId : sessionIds) {
+            SessionOutbox outbox = activeSessions.get(sessionId);
+            if (outbox == null) {
+                removeSubscriber(jobId, sessionId);
+                continue;
+            }
+            boolean accepted = progress ? outbox.offerProgress(jobId, message) : outbox.offer(message);
+            if (!accepted) {
+                dropSession(outbox);
+            }
         }
     }
 
-    private String determineProcessingStage(int progress) {
-        if (progress <= 20) return "VALIDATION";
-        if (progress <= 40) return "EXTRACTION";
-        if (progress <= 60) return "ANALYSIS";
-        if (progress <= 80) return "ENHANCEMENT";
-        return "FINALIZING";
+    private void dropSession(SessionOutbox outbox) {
+        droppedSessions.increment();
+        outbox.close(CloseStatus.SESSION_NOT_RELIABLE);
+        unregisterSession(outbox.getId());
     }
 
-    private String generateErrorSuggestion(String error) {
-        if (error.toLowerCase().contains("file") || error.toLowerCase().contains("pdf")) {
-            return "Please ensure the file is a valid PDF and try again.";
-        } else if (error.toLowerCase().contains("size") || error.toLowerCase().contains("large")) {
-            return "File size may be too large. Please try a smaller file (max 50MB).";
-        } else if (error.toLowerCase().contains("ai") || error.toLowerCase().contains("api")) {
-            return "AI service temporarily unavailable. Please try again in a few moments.";
-        } else {
-            return "An unexpected error occurred. Please try again or contact support.";
+    // Terminal events end the job's channel; nothing else will be published for it
+    private void releaseJob(Long jobId) {
+        awaitingEnrichment.remove(jobId);
+        Set<String> sessionIds = subscribersByJob.remove(jobId);
+        if (sessionIds != null) {
+            sessionIds.forEach(sessionId -> {
+                Set<Long> jobIds = jobsBySession.get(sessionId);
+                if (jobIds != null) {
+                    jobIds.remove(jobId);
+                }
+            });
         }
     }
 
+    private void removeSubscriber(Long jobId, String sessionId) {
+        subscribersByJob.computeIfPresent(jobId, (id, sessionIds) -> {
+            sessionIds.remove(sessionId);
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+
     public int getActiveSessionCount() {
         return activeSessions.size();
     }
 
+    public int getSubscribedJobCount() {
+        return subscribersByJob.size();
+    }
+
     public void sendNotification(String sessionId, String type, String message) {
-        WebSocketSession session = activeSessions.get(sessionId);
-        if (session != null && session.isOpen()) {
+        SessionOutbox outbox = activeSessions.get(sessionId);
+        if (outbox != null) {
             try {
                 String notification = objectMapper.writeValueAsString(Map.of(
                         "type", type,
                         "message", message,
                         "timestamp", System.currentTimeMillis()
                 ));
-                session.sendMessage(new TextMessage(notification));
-            } catch (IOException e) {
-                log.warn("Failed to send notification to session {}: {}", sessionId, e.getMessage());
+                if (!outbox.offer(notification)) {
+                    dropSession(outbox);
+                }
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to build notification for session {}: {}", sessionId, e.getMessage());
             }
         }
     }
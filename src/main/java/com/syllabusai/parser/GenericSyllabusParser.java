@@ -1,29 +1,88 @@
 package com.syllabusai.parser;
 
 import com.syllabusai.adapter.AIService;
+import com.syllabusai.exception.AIResponseTruncatedException;
+import com.syllabusai.exception.AIServiceUnavailableException;
 import com.syllabusai.model.*;
 import com.syllabusai.strategy.ExtractionContext;
-import lombok.RequiredArgsConstructor;
+import com.syllabusai.strategy.ExtractionResult;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.io.RandomAccessStreamCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class GenericSyllabusParser implements SyllabusParser {
 
     private final AIService aiService;
     private final ExtractionContext extractionContext;
+    private final ThreadPoolTaskExecutor extractionExecutor;
+    private final ThreadPoolTaskExecutor pdfTextExecutor;
+
+    @Value("${app.extraction.mode:combined}")
+    private String extractionMode;
+
+    @Value("${app.extraction.task-timeout:90s}")
+    private Duration extractionTaskTimeout;
+
+    @Value("${app.pdf.spool-threshold:1MB}")
+    private DataSize spoolThreshold;
+
+    @Value("${app.pdf.spool-directory:${java.io.tmpdir}/syllabusai/spool}")
+    private Path spoolDirectory;
+
+    @Value("${app.pdf.memory-mapped:true}")
+    private boolean memoryMapped;
+
+    @Value("${app.pdf.max-main-memory:4MB}")
+    private DataSize maxMainMemory;
+
+    @Value("${app.pdf.parallel-page-threshold:24}")
+    private int parallelPageThreshold;
+
+    @Value("${app.pdf.min-pages-per-chunk:6}")
+    private int minPagesPerChunk;
+
+    public GenericSyllabusParser(AIService aiService,
+                                 ExtractionContext extractionContext,
+                                 @Qualifier("extractionExecutor") ThreadPoolTaskExecutor extractionExecutor,
+                                 @Qualifier("pdfTextExecutor") ThreadPoolTaskExecutor pdfTextExecutor) {
+        this.aiService = aiService;
+        this.extractionContext = extractionContext;
+        this.extractionExecutor = extractionExecutor;
+        this.pdfTextExecutor = pdfTextExecutor;
+    }
 
     @Override
     public boolean supports(MultipartFile file) {
@@ -36,10 +95,21 @@ public class GenericSyllabusParser implements SyllabusParser {
         log.info("Parsing syllabus file: {}", file.getOriginalFilename());
 
         String textContent = extractTextFromPDF(file);
+        return parseText(textContent, file.getOriginalFilename());
+    }
+
+    @Override
+    public String extractText(Path pdfFile, String originalFilename) throws Exception {
+        log.info("Extracting text from stored syllabus file: {}", originalFilename);
+        return extractTextFromPDF(pdfFile, originalFilename);
+    }
+
+    @Override
+    public Syllabus parseText(String textContent, String originalFilename) throws Exception {
         log.debug("Extracted {} characters from PDF", textContent.length());
 
         Syllabus syllabus = Syllabus.builder()
-                .filename(file.getOriginalFilename())
+                .filename(originalFilename)
                 .uploadDate(LocalDateTime.now())
                 .status("PARSED")
                 .topics(new ArrayList<>())
@@ -65,6 +135,43 @@ public class GenericSyllabusParser implements SyllabusParser {
     }
 
     private void extractWithStrategies(Syllabus syllabus, String textContent) throws InterruptedException {
+        switch (extractionMode.toLowerCase()) {
+            case "sequential" -> extractSequentially(syllabus, textContent);
+            case "concurrent" -> extractConcurrently(syllabus, textContent);
+            case "reactive" -> extractReactively(syllabus, textContent);
+            default -> extractCombined(syllabus, textContent);
+        }
+
+        if (!syllabus.getTopics().isEmpty() || !syllabus.getDeadlines().isEmpty() || !syllabus.getMaterials().isEmpty()) {
+            log.info("Extracted entities will have relationships established by SyllabusService");
+        }
+    }
+
+    private void extractCombined(Syllabus syllabus, String textContent) throws InterruptedException {
+        log.debug("Starting combined single-call extraction");
+
+        ExtractionResult result;
+        try {
+            result = extractionContext.extractAll(textContent);
+        } catch (AIResponseTruncatedException e) {
+            log.warn("Combined extraction response truncated ({}), falling back to per-kind extraction", e.getMessage());
+            extractReactively(syllabus, textContent);
+            return;
+        }
+
+        syllabus.getTopics().addAll(result.getTopics());
+        syllabus.getDeadlines().addAll(result.getDeadlines());
+        syllabus.getMaterials().addAll(result.getMaterials());
+
+        if (!result.getCourseInfo().isEmpty()) {
+            log.info("Detected course structure: {}", result.getCourseInfo());
+        }
+
+        log.info("Combined extraction completed: {} topics, {} deadlines, {} materials",
+                result.getTopics().size(), result.getDeadlines().size(), result.getMaterials().size());
+    }
+
+    private void extractSequentially(Syllabus syllabus, String textContent) {
         log.debug("Starting sequential strategy-based extraction");
 
         log.info("=== Extracting TOPICS ===");
@@ -72,15 +179,11 @@ public class GenericSyllabusParser implements SyllabusParser {
         syllabus.getTopics().addAll(topics);
         log.info("Extracted {} topics", topics.size());
 
-        Thread.sleep(1000);
-
         log.info("=== Extracting DEADLINES ===");
         List<Deadline> deadlines = extractionContext.extractDeadlines(textContent);
         syllabus.getDeadlines().addAll(deadlines);
         log.info("Extracted {} deadlines", deadlines.size());
 
-        Thread.sleep(1000);
-
         log.info("=== Extracting MATERIALS ===");
         List<Material> materials = extractionContext.extractMaterials(textContent);
         syllabus.getMaterials().addAll(materials);
@@ -88,30 +191,230 @@ public class GenericSyllabusParser implements SyllabusParser {
 
         log.info("Sequential extraction completed: {} topics, {} deadlines, {} materials",
                 topics.size(), deadlines.size(), materials.size());
+    }
 
-        if (!topics.isEmpty() || !deadlines.isEmpty() || !materials.isEmpty()) {
-            log.info("Extracted entities will have relationships established by SyllabusService");
+    private void extractConcurrently(Syllabus syllabus, String textContent) throws InterruptedException {
+        log.debug("Starting concurrent strategy-based extraction, task timeout {}", extractionTaskTimeout);
+
+        long deadlineNanos = System.nanoTime() + extractionTaskTimeout.toNanos();
+
+        Future<List<Topic>> topicsFuture = submitExtraction(() -> extractionContext.extractTopics(textContent),
+                () -> extractionContext.extractTopicsAsync(textContent), "topics", deadlineNanos);
+        Future<List<Deadline>> deadlinesFuture = submitExtraction(() -> extractionContext.extractDeadlines(textContent),
+                () -> extractionContext.extractDeadlinesAsync(textContent), "deadlines", deadlineNanos);
+        Future<List<Material>> materialsFuture = submitExtraction(() -> extractionContext.extractMaterials(textContent),
+                () -> extractionContext.extractMaterialsAsync(textContent), "materials", deadlineNanos);
+
+        try {
+            List<Topic> topics = awaitExtraction(topicsFuture, "topics", deadlineNanos);
+            List<Deadline> deadlines = awaitExtraction(deadlinesFuture, "deadlines", deadlineNanos);
+            List<Material> materials = awaitExtraction(materialsFuture, "materials", deadlineNanos);
+
+            syllabus.getTopics().addAll(topics);
+            syllabus.getDeadlines().addAll(deadlines);
+            syllabus.getMaterials().addAll(materials);
+
+            log.info("Concurrent extraction completed: {} topics, {} deadlines, {} materials",
+                    topics.size(), deadlines.size(), materials.size());
+
+        } catch (InterruptedException | RuntimeException e) {
+            topicsFuture.cancel(true);
+            deadlinesFuture.cancel(true);
+            materialsFuture.cancel(true);
+            throw e;
+        }
+    }
+
+    // Same per-kind calls as extractConcurrently, but in flight together without an extraction thread each;
+    // only the calling thread waits
+    private void extractReactively(Syllabus syllabus, String textContent) {
+        log.debug("Starting reactive strategy-based extraction, task timeout {}", extractionTaskTimeout);
+
+        Mono<List<Topic>> topics = withTimeout(extractionContext.extractTopicsAsync(textContent), "topics");
+        Mono<List<Deadline>> deadlines = withTimeout(extractionContext.extractDeadlinesAsync(textContent), "deadlines");
+        Mono<List<Material>> materials = withTimeout(extractionContext.extractMaterialsAsync(textContent), "materials");
+
+        Mono.zip(topics, deadlines, materials)
+                .doOnNext(result -> {
+                    syllabus.getTopics().addAll(result.getT1());
+                    syllabus.getDeadlines().addAll(result.getT2());
+                    syllabus.getMaterials().addAll(result.getT3());
+                    log.info("Reactive extraction completed: {} topics, {} deadlines, {} materials",
+                            result.getT1().size(), result.getT2().size(), result.getT3().size());
+                })
+                .block();
+    }
+
+    private <T> Mono<List<T>> withTimeout(Mono<List<T>> extraction, String type) {
+        return extraction
+                .timeout(extractionTaskTimeout)
+                .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                    log.error("Extraction of {} failed or timed out after {}: {}", type, extractionTaskTimeout, e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    // A saturated pool must not run the extraction on the calling thread: it would finish before
+    // awaitExtraction applies the deadline. The rejected kind goes through the reactive path instead,
+    // which needs no pool thread and is bounded by the same deadline.
+    private <T> Future<List<T>> submitExtraction(Callable<List<T>> task, Supplier<Mono<List<T>>> fallback,
+                                                 String type, long deadlineNanos) {
+        try {
+            return extractionExecutor.submit(task);
+        } catch (TaskRejectedException e) {
+            log.warn("Extraction pool saturated, extracting {} without a pool thread", type);
+            // The Mono's own timeout cancels the Gemini call; cancelling the future alone would not
+            Duration remaining = Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+            return fallback.get().timeout(remaining).toFuture();
+        }
+    }
+
+    private <T> List<T> awaitExtraction(Future<List<T>> future, String type, long deadlineNanos)
+            throws InterruptedException {
+        try {
+            long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            return future.get(remainingNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.error("Extraction of {} timed out after {}, cancelled", type, extractionTaskTimeout);
+            return new ArrayList<>();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AIServiceUnavailableException unavailable) {
+                throw unavailable;
+            }
+            log.error("Extraction of {} failed: {}", type, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return new ArrayList<>();
         }
     }
 
     private String extractTextFromPDF(MultipartFile file) throws Exception {
         log.debug("Extracting text from PDF: {}", file.getOriginalFilename());
 
-        try (InputStream inputStream = file.getInputStream();
-             PDDocument document = Loader.loadPDF(RandomAccessReadBuffer.createBufferFromStream(inputStream))) {
-
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            stripper.setWordSeparator(" ");
+        if (file.getSize() <= spoolThreshold.toBytes()) {
+            // Read once; every parallel chunk wraps the same bytes instead of spooling and re-reading the upload
+            byte[] content;
+            try (InputStream inputStream = file.getInputStream()) {
+                content = inputStream.readAllBytes();
+            }
+            return extractText(() -> new RandomAccessReadBuffer(content), file.getOriginalFilename());
+        }
 
-            String text = stripper.getText(document);
-            log.debug("PDF text extraction completed, {} characters", text.length());
+        Path spooledFile = spoolToDisk(file);
+        try {
+            return extractTextFromPDF(spooledFile, file.getOriginalFilename());
+        } finally {
+            Files.deleteIfExists(spooledFile);
+        }
+    }
 
-            return text.trim();
+    private String extractTextFromPDF(Path pdfFile, String originalFilename) throws Exception {
+        log.debug("Extracting text from spooled PDF {} ({} bytes, memory-mapped: {})",
+                originalFilename, Files.size(pdfFile), memoryMapped);
+        return extractText(() -> openRandomAccess(pdfFile), originalFilename);
+    }
 
+    private String extractText(PdfSource source, String originalFilename) throws Exception {
+        try (PDDocument document = Loader.loadPDF(source.open(), scratchStreamCache())) {
+            int pageCount = document.getNumberOfPages();
+            if (shouldStripInParallel(pageCount)) {
+                return stripTextInParallel(source, pageCount);
+            }
+            return stripText(document);
+        } catch (InterruptedException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("PDF text extraction failed for file: {}", file.getOriginalFilename(), e);
+            log.error("PDF text extraction failed for file: {}", originalFilename, e);
             throw new Exception("Failed to extract text from PDF: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private String stripText(PDDocument document) throws IOException {
+        PDFTextStripper stripper = createStripper();
+
+        String text = stripper.getText(document);
+        log.debug("PDF text extraction completed, {} characters", text.length());
+
+        return text.trim();
+    }
+
+    private boolean shouldStripInParallel(int pageCount) {
+        return parallelPageThreshold > 0 && pageCount >= parallelPageThreshold;
+    }
+
+    private String stripTextInParallel(PdfSource source, int pageCount) throws Exception {
+        int workers = pdfTextExecutor.getMaxPoolSize();
+        int chunkCount = Math.max(1, Math.min(workers, pageCount / Math.max(1, minPagesPerChunk)));
+        int pagesPerChunk = (pageCount + chunkCount - 1) / chunkCount;
+
+        log.debug("Stripping {} pages in {} chunks of up to {} pages", pageCount, chunkCount, pagesPerChunk);
+
+        List<Future<String>> chunks = new ArrayList<>();
+        for (int firstPage = 1; firstPage <= pageCount; firstPage += pagesPerChunk) {
+            int startPage = firstPage;
+            int endPage = Math.min(pageCount, firstPage + pagesPerChunk - 1);
+            chunks.add(pdfTextExecutor.submit(() -> stripPageRange(source, startPage, endPage)));
+        }
+
+        StringBuilder text = new StringBuilder();
+        try {
+            for (Future<String> chunk : chunks) {
+                text.append(chunk.get());
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e;
+        }
+
+        log.debug("Parallel PDF text extraction completed, {} characters", text.length());
+        return text.toString().trim();
+    }
+
+    private String stripPageRange(PdfSource source, int startPage, int endPage) throws IOException {
+        // PDDocument is not thread-safe, so every chunk works on its own instance
+        try (PDDocument document = Loader.loadPDF(source.open(), scratchStreamCache())) {
+            PDFTextStripper stripper = createStripper();
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            return stripper.getText(document);
+        }
+    }
+
+    private PDFTextStripper createStripper() {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        stripper.setWordSeparator(" ");
+        return stripper;
+    }
+
+    private Path spoolToDisk(MultipartFile file) throws IOException {
+        Files.createDirectories(spoolDirectory);
+        Path spooledFile = Files.createTempFile(spoolDirectory, "upload-", ".pdf");
+        try (InputStream inputStream = file.getInputStream()) {
+            Files.copy(inputStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooledFile);
+            throw e;
+        }
+        log.debug("Spooled {} ({} bytes) to {}", file.getOriginalFilename(), file.getSize(), spooledFile);
+        return spooledFile;
+    }
+
+    private RandomAccessRead openRandomAccess(Path pdfFile) throws IOException {
+        return memoryMapped
+                ? new RandomAccessReadMemoryMappedFile(pdfFile)
+                : new RandomAccessReadBufferedFile(pdfFile);
+    }
+
+    private RandomAccessStreamCache.StreamCacheCreateFunction scratchStreamCache() {
+        // Object streams beyond the main-memory budget are cached in PDFBox scratch files
+        return MemoryUsageSetting.setupMixed(maxMainMemory.toBytes()).streamCache;
+    }
+
+    @FunctionalInterface
+    private interface PdfSource {
+        RandomAccessRead open() throws IOException;
+    }
+}
@@ -3,7 +3,11 @@ package com.syllabusai.parser;
 import com.syllabusai.model.Syllabus;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 public interface SyllabusParser {
     boolean supports(MultipartFile file);
     Syllabus parse(MultipartFile file) throws Exception;
+    String extractText(Path pdfFile, String originalFilename) throws Exception;
+    Syllabus parseText(String textContent, String originalFilename) throws Exception;
 }
\ No newline at end of file
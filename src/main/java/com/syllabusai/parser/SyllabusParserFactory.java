@@ -14,6 +14,10 @@ public class SyllabusParserFactory {
     }
 
     public SyllabusParser createParser(MultipartFile file) {
+        return createParser(file.getContentType());
+    }
+
+    public SyllabusParser createParser(String contentType) {
         return genericParser;
     }
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.syllabusai.repository;
 
+import com.syllabusai.dto.DeadlineDTO;
+import com.syllabusai.dto.UpcomingDeadlineDTO;
 import com.syllabusai.model.Deadline;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,6 +21,19 @@ public interface DeadlineRepository extends JpaRepository<Deadline, Long> {
 
     List<Deadline> findBySyllabusIdOrderByDateAsc(Long syllabusId);
 
+    @Query("SELECT new com.syllabusai.dto.DeadlineDTO(d.id, d.title, d.date, d.type, COALESCE(d.description, '')) " +
+            "FROM Deadline d WHERE d.syllabus.id = :syllabusId ORDER BY d.date ASC, d.id ASC")
+    List<DeadlineDTO> findDTOsBySyllabusId(@Param("syllabusId") Long syllabusId, Limit limit);
+
+    @Query("SELECT new com.syllabusai.dto.DeadlineDTO(d.id, d.title, d.date, d.type, COALESCE(d.description, '')) " +
+            "FROM Deadline d WHERE d.syllabus.id = :syllabusId " +
+            "AND (d.date > :date OR (d.date = :date AND d.id > :id)) " +
+            "ORDER BY d.date ASC, d.id ASC")
+    List<DeadlineDTO> findDTOsBySyllabusIdAfter(@Param("syllabusId") Long syllabusId,
+                                                @Param("date") LocalDateTime date,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
     List<Deadline> findBySyllabusIdAndType(Long syllabusId, Deadline.DeadlineType type);
 
     @Query("SELECT d FROM Deadline d WHERE d.syllabus.id = :syllabusId AND d.date BETWEEN :start AND :end")
@@ -23,7 +41,29 @@ public interface DeadlineRepository extends JpaRepository<Deadline, Long> {
                                          @Param("start") LocalDateTime start,
                                          @Param("end") LocalDateTime end);
 
-    @Query("SELECT d FROM Deadline d WHERE d.syllabus.user.id = :userId AND d.date > :now ORDER BY d.date ASC")
+    @Query("SELECT d FROM Deadline d WHERE d.userId = :userId AND d.date > :now ORDER BY d.date ASC, d.id ASC")
     List<Deadline> findUpcomingDeadlinesByUser(@Param("userId") Long userId,
                                                @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.syllabusai.dto.UpcomingDeadlineDTO(d.id, d.title, d.date, d.type, COALESCE(d.description, ''), d.syllabus.id) " +
+            "FROM Deadline d WHERE d.userId = :userId AND d.date > :now ORDER BY d.date ASC, d.id ASC")
+    List<UpcomingDeadlineDTO> findUpcomingDTOsByUser(@Param("userId") Long userId,
+                                                     @Param("now") LocalDateTime now,
+                                                     Limit limit);
+
+    @Query("SELECT new com.syllabusai.dto.UpcomingDeadlineDTO(d.id, d.title, d.date, d.type, COALESCE(d.description, ''), d.syllabus.id) " +
+            "FROM Deadline d WHERE d.userId = :userId AND d.date > :now " +
+            "AND (d.date > :date OR (d.date = :date AND d.id > :id)) " +
+            "ORDER BY d.date ASC, d.id ASC")
+    List<UpcomingDeadlineDTO> findUpcomingDTOsByUserAfter(@Param("userId") Long userId,
+                                                          @Param("now") LocalDateTime now,
+                                                          @Param("date") LocalDateTime date,
+                                                          @Param("id") Long id,
+                                                          Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE deadlines d SET user_id = s.user_id FROM syllabi s " +
+            "WHERE d.syllabus_id = s.id AND d.user_id IS NULL", nativeQuery = true)
+    int backfillUserIds();
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.syllabusai.repository;
 
+import com.syllabusai.dto.MaterialDTO;
 import com.syllabusai.model.Material;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,8 @@ import java.util.List;
 public interface MaterialRepository extends JpaRepository<Material, Long> {
     List<Material> findBySyllabusId(Long syllabusId);
     List<Material> findBySyllabusIdAndType(Long syllabusId, Material.MaterialType type);
+
+    @Query("SELECT new com.syllabusai.dto.MaterialDTO(m.id, m.title, m.type, COALESCE(m.link, '')) " +
+            "FROM Material m WHERE m.syllabus.id = :syllabusId ORDER BY m.id ASC")
+    List<MaterialDTO> findDTOsBySyllabusId(@Param("syllabusId") Long syllabusId);
 }
\ No newline at end of file
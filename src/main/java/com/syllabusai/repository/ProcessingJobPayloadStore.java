@@ -0,0 +1,52 @@
+package com.syllabusai.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Repository
+@RequiredArgsConstructor
+public class ProcessingJobPayloadStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void save(Long jobId, Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            long size = Files.size(file);
+            jdbcTemplate.update("INSERT INTO processing_job_payloads (job_id, data) VALUES (?, ?)", ps -> {
+                ps.setLong(1, jobId);
+                ps.setBinaryStream(2, in, size);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store payload for job " + jobId, e);
+        }
+    }
+
+    // Returns false when the job has no stored payload
+    public boolean copyTo(Long jobId, Path target) {
+        Boolean found = jdbcTemplate.query("SELECT data FROM processing_job_payloads WHERE job_id = ?", rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            try (InputStream in = rs.getBinaryStream(1)) {
+                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read payload for job " + jobId, e);
+            }
+            return true;
+        }, jobId);
+        return Boolean.TRUE.equals(found);
+    }
+
+    public int delete(Long jobId) {
+        return jdbcTemplate.update("DELETE FROM processing_job_payloads WHERE job_id = ?", jobId);
+    }
+
+}
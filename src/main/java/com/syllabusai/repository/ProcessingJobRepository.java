@@ -0,0 +1,59 @@
+package com.syllabusai.repository;
+
+import com.syllabusai.model.ProcessingJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProcessingJobRepository extends JpaRepository<ProcessingJob, Long> {
+
+    // Explicit columns: a legacy payload column left behind by ddl-auto must not be read on every claim
+    @Query(value = """
+            SELECT id, syllabus_id, filename, content_hash, status, attempts, max_attempts, visible_at,
+                   locked_by, last_error, created_at, updated_at
+            FROM processing_jobs
+            WHERE status IN ('QUEUED', 'RUNNING') AND visible_at <= :now
+            ORDER BY visible_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ProcessingJob> lockClaimableJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Fenced lookup: only the node holding the current attempt gets the row, locked for the caller's transaction
+    @Query(value = """
+            SELECT id, syllabus_id, filename, content_hash, status, attempts, max_attempts, visible_at,
+                   locked_by, last_error, created_at, updated_at
+            FROM processing_jobs
+            WHERE id = :id AND status = 'RUNNING' AND locked_by = :nodeId AND attempts = :attempt
+            FOR UPDATE
+            """, nativeQuery = true)
+    Optional<ProcessingJob> lockClaim(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("attempt") int attempt);
+
+    @Modifying
+    @Query(value = """
+            UPDATE processing_jobs SET status = 'DONE', locked_by = NULL, updated_at = now()
+            WHERE id = :id AND status = 'RUNNING' AND locked_by = :nodeId AND attempts = :attempt
+            """, nativeQuery = true)
+    int completeClaim(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("attempt") int attempt);
+
+    @Modifying
+    @Query(value = """
+            UPDATE processing_jobs SET visible_at = :visibleAt, updated_at = now()
+            WHERE id = :id AND status = 'RUNNING' AND locked_by = :nodeId AND attempts = :attempt
+            """, nativeQuery = true)
+    int extendClaim(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("attempt") int attempt,
+                    @Param("visibleAt") LocalDateTime visibleAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM processing_jobs WHERE status = 'DONE' AND updated_at < :cutoff", nativeQuery = true)
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(ProcessingJob.JobStatus status);
+}
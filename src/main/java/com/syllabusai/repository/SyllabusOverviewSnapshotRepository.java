@@ -0,0 +1,45 @@
+package com.syllabusai.repository;
+
+import com.syllabusai.model.SyllabusOverviewSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface SyllabusOverviewSnapshotRepository extends JpaRepository<SyllabusOverviewSnapshot, Long> {
+
+    // Stored snapshot with upcomingDeadlines (first five deadlines after :now) filled in on read.
+    // Deadlines are stored ordered by date, and the 'yyyy-MM-dd HH:mm:ss' strings compare chronologically.
+    @Query(value = """
+            SELECT CAST(jsonb_set(o.overview, '{upcomingDeadlines}', COALESCE((
+                SELECT jsonb_agg(u.deadline ORDER BY u.ord)
+                FROM (SELECT d.deadline, d.ord
+                      FROM jsonb_array_elements(o.overview -> 'deadlines') WITH ORDINALITY AS d(deadline, ord)
+                      WHERE d.deadline ->> 'date' > :now
+                      ORDER BY d.ord
+                      LIMIT 5) u), '[]'::jsonb)) AS text)
+            FROM syllabus_overview_snapshots o
+            WHERE o.syllabus_id = :id
+            """, nativeQuery = true)
+    Optional<String> findOverviewJson(@Param("id") Long syllabusId, @Param("now") String now);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO syllabus_overview_snapshots (syllabus_id, overview, refreshed_at)
+            VALUES (:id, CAST(:overview AS jsonb), now())
+            ON CONFLICT (syllabus_id) DO UPDATE
+            SET overview = EXCLUDED.overview, refreshed_at = EXCLUDED.refreshed_at
+            """, nativeQuery = true)
+    int upsert(@Param("id") Long syllabusId, @Param("overview") String overview);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SyllabusOverviewSnapshot o WHERE o.syllabusId = :id")
+    int evict(@Param("id") Long syllabusId);
+}
@@ -1,17 +1,99 @@
 package com.syllabusai.repository;
 
+import com.syllabusai.dto.SyllabusDTO;
 import com.syllabusai.model.Syllabus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SyllabusRepository extends JpaRepository<Syllabus, Long> {
 
     List<Syllabus> findByUserIdOrderByUploadDateDesc(Long userId);
 
+    @Query("SELECT new com.syllabusai.dto.SyllabusDTO(s.id, s.filename, s.status, s.uploadDate) " +
+            "FROM Syllabus s WHERE s.user.id = :userId ORDER BY s.uploadDate DESC, s.id DESC")
+    List<SyllabusDTO> findDTOsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT new com.syllabusai.dto.SyllabusDTO(s.id, s.filename, s.status, s.uploadDate) " +
+            "FROM Syllabus s WHERE s.user.id = :userId " +
+            "AND (s.uploadDate < :uploadDate OR (s.uploadDate = :uploadDate AND s.id < :id)) " +
+            "ORDER BY s.uploadDate DESC, s.id DESC")
+    List<SyllabusDTO> findDTOsByUserIdBefore(@Param("userId") Long userId,
+                                             @Param("uploadDate") LocalDateTime uploadDate,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    Optional<Syllabus> findFirstByContentHashAndStatusInOrderByUploadDateDesc(String contentHash, List<String> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Syllabus s SET s.status = :status WHERE s.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    // Whole overview (header, topics, deadlines, materials) as one JSON document in SyllabusOverviewDTO's shape.
+    @Query(value = """
+            SELECT CAST(json_build_object(
+                'syllabus', json_build_object(
+                    'id', s.id,
+                    'fileName', s.filename,
+                    'uploadDate', to_char(s.upload_date, 'YYYY-MM-DD HH24:MI:SS')),
+                'topics', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'id', t.id,
+                        'title', t.title,
+                        'description', t.description,
+                        'week', t.week,
+                        'difficultyLevel', t.difficulty_level) ORDER BY t.week, t.id)
+                    FROM topics t WHERE t.syllabus_id = s.id), '[]'::json),
+                'deadlines', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'id', d.id,
+                        'title', d.title,
+                        'date', to_char(d.date, 'YYYY-MM-DD HH24:MI:SS'),
+                        'type', d.type,
+                        'description', d.description) ORDER BY d.date, d.id)
+                    FROM deadlines d WHERE d.syllabus_id = s.id), '[]'::json),
+                'materials', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'id', m.id,
+                        'title', m.title,
+                        'type', m.type,
+                        'url', m.link) ORDER BY m.id)
+                    FROM materials m WHERE m.syllabus_id = s.id), '[]'::json),
+                'totalWeeks', COALESCE((SELECT MAX(t.week) FROM topics t WHERE t.syllabus_id = s.id), 0)
+            ) AS text)
+            FROM syllabi s
+            WHERE s.id = :id
+            """, nativeQuery = true)
+    Optional<String> findOverviewJson(@Param("id") Long id);
+
+    // Moves each ID sequence to the highest existing key, so the next pooled block starts above it; a no-op once aligned
+    @Transactional
+    @Query(value = """
+            SELECT COUNT(setval(CAST(quote_ident(s.schemaname) || '.' || quote_ident(s.sequencename) AS regclass), m.max_id))
+            FROM pg_sequences s
+            JOIN (VALUES ('syllabi_seq', (SELECT MAX(id) FROM syllabi)),
+                         ('topics_seq', (SELECT MAX(id) FROM topics)),
+                         ('deadlines_seq', (SELECT MAX(id) FROM deadlines)),
+                         ('materials_seq', (SELECT MAX(id) FROM materials))) AS m(sequence_name, max_id)
+              ON s.sequencename = m.sequence_name
+            WHERE s.schemaname = current_schema() AND m.max_id > COALESCE(s.last_value, 0)
+            """, nativeQuery = true)
+    long alignIdSequences();
+
     long countByUserId(Long userId);
 
     boolean existsByUserIdAndId(Long userId, Long syllabusId);
+
+    @Query("SELECT s.status FROM Syllabus s WHERE s.user.id = :userId AND s.id = :id")
+    Optional<String> findStatusByUserIdAndId(@Param("userId") Long userId, @Param("id") Long syllabusId);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.syllabusai.repository;
+
+import com.syllabusai.model.TopicDifficultyKnowledge;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface TopicDifficultyKnowledgeRepository extends JpaRepository<TopicDifficultyKnowledge, String> {
+
+    // Votes are added in place so concurrent uploads of the same topic never lose one
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO topic_difficulty_knowledge
+                (fingerprint, sample_title, easy_votes, medium_votes, hard_votes, updated_at)
+            VALUES (:fingerprint, :sampleTitle, :easy, :medium, :hard, now())
+            ON CONFLICT (fingerprint) DO UPDATE
+            SET easy_votes = topic_difficulty_knowledge.easy_votes + EXCLUDED.easy_votes,
+                medium_votes = topic_difficulty_knowledge.medium_votes + EXCLUDED.medium_votes,
+                hard_votes = topic_difficulty_knowledge.hard_votes + EXCLUDED.hard_votes,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int addVotes(@Param("fingerprint") String fingerprint,
+                 @Param("sampleTitle") String sampleTitle,
+                 @Param("easy") long easy,
+                 @Param("medium") long medium,
+                 @Param("hard") long hard);
+
+    // Keyset walk over the whole store, used to rebuild the local classifier
+    List<TopicDifficultyKnowledge> findByFingerprintGreaterThanOrderByFingerprint(String fingerprint, Limit limit);
+}
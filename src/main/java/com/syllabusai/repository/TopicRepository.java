@@ -1,10 +1,14 @@
 package com.syllabusai.repository;
 
+import com.syllabusai.dto.TopicDTO;
 import com.syllabusai.model.Topic;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,6 +19,24 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
 
     List<Topic> findBySyllabusIdOrderByWeekAsc(Long syllabusId);
 
+    @Query("SELECT new com.syllabusai.dto.TopicDTO(t.id, t.title, t.description, t.week, t.difficultyLevel) " +
+            "FROM Topic t WHERE t.syllabus.id = :syllabusId ORDER BY t.week ASC, t.id ASC")
+    List<TopicDTO> findDTOsBySyllabusId(@Param("syllabusId") Long syllabusId, Limit limit);
+
+    @Query("SELECT new com.syllabusai.dto.TopicDTO(t.id, t.title, t.description, t.week, t.difficultyLevel) " +
+            "FROM Topic t WHERE t.syllabus.id = :syllabusId " +
+            "AND (t.week > :week OR (t.week = :week AND t.id > :id)) " +
+            "ORDER BY t.week ASC, t.id ASC")
+    List<TopicDTO> findDTOsBySyllabusIdAfter(@Param("syllabusId") Long syllabusId,
+                                             @Param("week") Integer week,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Topic t SET t.difficultyLevel = :difficulty WHERE t.id IN :ids")
+    int updateDifficulty(@Param("difficulty") Topic.DifficultyLevel difficulty, @Param("ids") List<Long> ids);
+
     List<Topic> findBySyllabusIdAndWeek(Long syllabusId, Integer week);
 
     @Query("SELECT t FROM Topic t WHERE t.syllabus.id = :syllabusId AND t.difficultyLevel = :difficulty")
@@ -16,6 +16,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.syllabi WHERE u.email = :email")
     Optional<User> findByEmailWithSyllabi(@Param("email") String email);
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.syllabusai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.syllabusai.model.RevokedToken;
+import com.syllabusai.model.User;
+import com.syllabusai.repository.RevokedTokenRepository;
+import com.syllabusai.util.LruTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class AuthTokenService {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Duration REVOCATION_SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+    private final Duration tokenTtl;
+    private final LruTtlCache<String, Boolean> revokedTokens;
+    private final RevokedTokenRepository revokedTokenRepository;
+    // Revocations from other nodes are pulled after this point; it starts at the epoch to load them all
+    private LocalDateTime syncedUntil = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public AuthTokenService(ObjectMapper objectMapper,
+                            RevokedTokenRepository revokedTokenRepository,
+                            Environment environment,
+                            @Value("${app.auth.token-secret:}") String tokenSecret,
+                            @Value("${app.auth.token-ttl:12h}") Duration tokenTtl,
+                            @Value("${app.auth.revocation-cache-size:10000}") int revocationCacheSize,
+                            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.signingKey = new SecretKeySpec(secretBytes(tokenSecret, environment), HMAC_ALGORITHM);
+        this.tokenTtl = tokenTtl;
+        this.revokedTokens = new LruTtlCache<String, Boolean>(revocationCacheSize, tokenTtl)
+                .registerMetrics(meterRegistry, "auth-revocations");
+    }
+
+    public String issueToken(User user) {
+        Instant now = Instant.now();
+        ObjectNode claims = objectMapper.createObjectNode()
+                .put("jti", UUID.randomUUID().toString())
+                .put("uid", user.getId())
+                .put("email", user.getEmail())
+                .put("fn", user.getFirstName())
+                .put("ln", user.getLastName())
+                .put("iat", now.getEpochSecond())
+                .put("exp", now.plus(tokenTtl).getEpochSecond());
+
+        String payload = encode(claims.toString().getBytes(StandardCharsets.UTF_8));
+        return payload + "." + encode(sign(payload));
+    }
+
+    public Optional<TokenClaims> resolveClaims(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return Optional.empty();
+        }
+        return verify(authHeader.substring(BEARER_PREFIX.length()));
+    }
+
+    public Optional<Long> resolveUserId(String authHeader) {
+        return resolveClaims(authHeader).map(TokenClaims::userId);
+    }
+
+    public Optional<TokenClaims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            log.debug("Malformed token");
+            return Optional.empty();
+        }
+
+        try {
+            String payload = token.substring(0, dot);
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                log.warn("Token signature mismatch");
+                return Optional.empty();
+            }
+
+            JsonNode node = objectMapper.readTree(Base64.getUrlDecoder().decode(payload));
+            TokenClaims claims = new TokenClaims(
+                    node.path("jti").asText(),
+                    node.path("uid").asLong(),
+                    node.path("email").asText(),
+                    node.path("fn").asText(null),
+                    node.path("ln").asText(null),
+                    Instant.ofEpochSecond(node.path("exp").asLong()));
+
+            if (!claims.expiresAt().isAfter(Instant.now())) {
+                log.debug("Token for user {} expired at {}", claims.userId(), claims.expiresAt());
+                return Optional.empty();
+            }
+            if (revokedTokens.get(claims.tokenId()).isPresent()) {
+                log.debug("Token {} has been revoked", claims.tokenId());
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+
+        } catch (Exception e) {
+            log.debug("Token verification failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public boolean revoke(String authHeader) {
+        Optional<TokenClaims> claims = resolveClaims(authHeader);
+        claims.ifPresent(c -> {
+            revokedTokens.put(c.tokenId(), Boolean.TRUE);
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(c.tokenId())
+                    .userId(c.userId())
+                    .expiresAt(LocalDateTime.ofInstant(c.expiresAt(), ZoneOffset.UTC))
+                    .revokedAt(LocalDateTime.now(ZoneOffset.UTC))
+                    .build());
+            log.info("Revoked token for user {}", c.userId());
+        });
+        return claims.isPresent();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.auth.revocation-sync-interval-ms:15000}")
+    public synchronized void syncRevocations() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        try {
+            // The overlap absorbs clock skew between nodes; re-adding a known token id is harmless
+            List<RevokedToken> revoked = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                    syncedUntil.minus(REVOCATION_SYNC_OVERLAP), now);
+            revoked.forEach(token -> revokedTokens.put(token.getTokenId(), Boolean.TRUE));
+            syncedUntil = now;
+            if (!revoked.isEmpty()) {
+                log.debug("Synced {} token revocations", revoked.size());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to sync token revocations: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation-cleanup-interval-ms:3600000}")
+    public void purgeExpiredRevocations() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC));
+        if (deleted > 0) {
+            log.info("Purged {} revocations of expired tokens", deleted);
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Every node must sign with the same key, so only a dev instance may fall back to a random one
+    private static byte[] secretBytes(String tokenSecret, Environment environment) {
+        if (tokenSecret != null && !tokenSecret.isBlank()) {
+            return tokenSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException("app.auth.token-secret (AUTH_TOKEN_SECRET) must be set outside the dev profile");
+        }
+        log.warn("app.auth.token-secret is not set, using a random key; tokens will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    public record TokenClaims(String tokenId, Long userId, String email, String firstName, String lastName,
+                              Instant expiresAt) {
+    }
+}
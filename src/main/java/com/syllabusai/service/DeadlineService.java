@@ -1,14 +1,22 @@
 package com.syllabusai.service;
 
+import com.syllabusai.dto.CursorPage;
+import com.syllabusai.dto.UpcomingDeadlineDTO;
 import com.syllabusai.model.Deadline;
 import com.syllabusai.repository.DeadlineRepository;
+import com.syllabusai.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -25,4 +33,28 @@ public class DeadlineService {
         LocalDateTime nextMonth = now.plusMonths(1);
         return deadlineRepository.findUpcomingDeadlines(syllabusId, now, nextMonth);
     }
+
+    public CursorPage<UpcomingDeadlineDTO> getUpcomingDeadlinesForUser(Long userId, String cursor, Integer limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<UpcomingDeadlineDTO> rows;
+        if (cursor == null) {
+            rows = deadlineRepository.findUpcomingDTOsByUser(userId, now, Limit.of(pageSize + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = deadlineRepository.findUpcomingDTOsByUserAfter(userId, now, after.dateKey(), after.id(), Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, d -> KeysetCursor.of(d.getDate(), d.getId()));
+    }
+
+    // Deadlines stored before user_id was denormalized onto them
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUserIds() {
+        int updated = deadlineRepository.backfillUserIds();
+        if (updated > 0) {
+            log.info("Backfilled user_id on {} deadlines", updated);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.syllabusai.service;
+
+import com.syllabusai.decorator.AIDifficultyDecorator;
+import com.syllabusai.model.Topic;
+import com.syllabusai.observer.FileProcessingSubject;
+import com.syllabusai.repository.TopicRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Every enqueued syllabus gets exactly one ENRICHED event, even when skipped or failed: WebSocket subscribers wait for it
+@Slf4j
+@Service
+public class DifficultyEnrichmentService {
+
+    private final TopicRepository topicRepository;
+    private final AIDifficultyDecorator aiDifficultyDecorator;
+    private final OverviewSnapshotService overviewSnapshotService;
+    private final FileProcessingSubject progressSubject;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor enrichmentExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public DifficultyEnrichmentService(TopicRepository topicRepository,
+                                       AIDifficultyDecorator aiDifficultyDecorator,
+                                       OverviewSnapshotService overviewSnapshotService,
+                                       FileProcessingSubject progressSubject,
+                                       TransactionTemplate transactionTemplate,
+                                       @Qualifier("difficultyEnrichmentExecutor") ThreadPoolTaskExecutor enrichmentExecutor,
+                                       MeterRegistry meterRegistry) {
+        this.topicRepository = topicRepository;
+        this.aiDifficultyDecorator = aiDifficultyDecorator;
+        this.overviewSnapshotService = overviewSnapshotService;
+        this.progressSubject = progressSubject;
+        this.transactionTemplate = transactionTemplate;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Call only after the topics are committed; the worker reads them back on its own connection
+    public void enqueue(Long syllabusId) {
+        try {
+            enrichmentExecutor.execute(() -> enrich(syllabusId));
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("difficulty.enrichment", "result", "rejected").increment();
+            log.warn("Difficulty enrichment queue full, syllabus {} keeps parser difficulty", syllabusId);
+            progressSubject.notifyEnriched(syllabusId, "Topic difficulty unchanged (enrichment skipped)");
+        }
+    }
+
+    void enrich(Long syllabusId) {
+        try {
+            List<Topic> topics = topicRepository.findBySyllabusIdOrderByWeekAsc(syllabusId);
+            if (topics.isEmpty()) {
+                meterRegistry.counter("difficulty.enrichment", "result", "empty").increment();
+                progressSubject.notifyEnriched(syllabusId, "Topic difficulty unchanged (no topics)");
+                return;
+            }
+
+            List<Topic.DifficultyLevel> difficulties = aiDifficultyDecorator.classifyDifficulties(topics);
+
+            Map<Topic.DifficultyLevel, List<Long>> changed = new EnumMap<>(Topic.DifficultyLevel.class);
+            for (int i = 0; i < topics.size(); i++) {
+                Topic topic = topics.get(i);
+                if (difficulties.get(i) != topic.getDifficultyLevel()) {
+                    changed.computeIfAbsent(difficulties.get(i), d -> new ArrayList<>()).add(topic.getId());
+                }
+            }
+
+            int updated = changed.values().stream().mapToInt(List::size).sum();
+            if (updated > 0) {
+                // At most one UPDATE per difficulty level, then the overview picks up the new levels
+                transactionTemplate.executeWithoutResult(status -> {
+                    changed.forEach(topicRepository::updateDifficulty);
+                    overviewSnapshotService.refresh(syllabusId);
+                });
+            }
+
+            meterRegistry.counter("difficulty.enrichment", "result", "done").increment();
+            log.info("Difficulty enrichment for syllabus {}: {} of {} topics changed", syllabusId, updated, topics.size());
+            progressSubject.notifyEnriched(syllabusId,
+                    String.format("Topic difficulty updated (%d of %d topics changed)", updated, topics.size()));
+
+        } catch (Exception e) {
+            meterRegistry.counter("difficulty.enrichment", "result", "failed").increment();
+            log.error("Difficulty enrichment failed for syllabus {}: {}", syllabusId, e.getMessage(), e);
+            progressSubject.notifyEnriched(syllabusId, "Topic difficulty unchanged (enrichment failed)");
+        }
+    }
+}
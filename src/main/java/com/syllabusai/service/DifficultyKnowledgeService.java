@@ -0,0 +1,133 @@
+package com.syllabusai.service;
+
+import com.syllabusai.model.Topic;
+import com.syllabusai.model.TopicDifficultyKnowledge;
+import com.syllabusai.repository.TopicDifficultyKnowledgeRepository;
+import com.syllabusai.util.HashUtils;
+import com.syllabusai.util.LruTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+public class DifficultyKnowledgeService {
+
+    private static final Pattern DIFFICULTY_SUFFIX = Pattern.compile("\\[ai difficulty: [a-z]+]");
+    private static final Pattern SEQUENCE_PREFIX = Pattern.compile("^(week|lecture|lesson|module|topic|part)\\s*\\d+\\s*");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int DESCRIPTION_PREFIX_LENGTH = 200;
+
+    private final TopicDifficultyKnowledgeRepository knowledgeRepository;
+    private final MeterRegistry meterRegistry;
+    private final LruTtlCache<String, Verdict> verdicts;
+    private final long minVotes;
+    private final double minConfidence;
+    private final Duration missTtl;
+
+    public DifficultyKnowledgeService(TopicDifficultyKnowledgeRepository knowledgeRepository,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.difficulty.knowledge.max-entries:10000}") int maxEntries,
+                                      @Value("${app.difficulty.knowledge.ttl:1h}") Duration ttl,
+                                      @Value("${app.difficulty.knowledge.min-votes:3}") long minVotes,
+                                      @Value("${app.difficulty.knowledge.min-confidence:0.6}") double minConfidence,
+                                      @Value("${app.difficulty.knowledge.miss-ttl:2m}") Duration missTtl) {
+        this.knowledgeRepository = knowledgeRepository;
+        this.meterRegistry = meterRegistry;
+        this.verdicts = new LruTtlCache<String, Verdict>(maxEntries, ttl)
+                .registerMetrics(meterRegistry, "topic-difficulty");
+        this.minVotes = minVotes;
+        this.minConfidence = minConfidence;
+        this.missTtl = missTtl;
+    }
+
+    public Optional<Topic.DifficultyLevel> lookup(Topic topic) {
+        String fingerprint = fingerprint(topic);
+        if (fingerprint == null) {
+            return Optional.empty();
+        }
+
+        Verdict verdict = verdicts.get(fingerprint).orElse(null);
+        String source = "cache";
+        if (verdict == null) {
+            verdict = loadVerdict(fingerprint);
+            if (isTrusted(verdict)) {
+                verdicts.put(fingerprint, verdict);
+            } else {
+                // Short-lived, so votes recorded on other nodes reach this one quickly
+                verdicts.put(fingerprint, verdict, missTtl);
+            }
+            source = "store";
+        }
+
+        boolean trusted = isTrusted(verdict);
+        meterRegistry.counter("difficulty.knowledge.lookup", "result", trusted ? source : "unknown").increment();
+        return trusted ? Optional.of(verdict.difficulty()) : Optional.empty();
+    }
+
+    public void recordVote(Topic topic, Topic.DifficultyLevel difficulty) {
+        String fingerprint = fingerprint(topic);
+        if (fingerprint == null || difficulty == null) {
+            return;
+        }
+
+        try {
+            knowledgeRepository.addVotes(fingerprint, topic.getTitle(),
+                    difficulty == Topic.DifficultyLevel.EASY ? 1 : 0,
+                    difficulty == Topic.DifficultyLevel.MEDIUM ? 1 : 0,
+                    difficulty == Topic.DifficultyLevel.HARD ? 1 : 0);
+            verdicts.invalidate(fingerprint);
+            log.debug("Recorded {} vote for topic '{}'", difficulty, topic.getTitle());
+        } catch (Exception e) {
+            log.warn("Failed to record difficulty vote for topic '{}': {}", topic.getTitle(), e.getMessage());
+        }
+    }
+
+    private boolean isTrusted(Verdict verdict) {
+        return verdict.votes() >= minVotes && verdict.confidence() >= minConfidence;
+    }
+
+    String fingerprint(Topic topic) {
+        if (topic == null || topic.getTitle() == null) {
+            return null;
+        }
+
+        String title = normalize(topic.getTitle());
+        if (title.isEmpty()) {
+            return null;
+        }
+
+        String description = topic.getDescription() != null ? normalize(topic.getDescription()) : "";
+        if (description.length() > DESCRIPTION_PREFIX_LENGTH) {
+            description = description.substring(0, DESCRIPTION_PREFIX_LENGTH);
+        }
+        return HashUtils.sha256Hex(title + "\n" + description);
+    }
+
+    private String normalize(String text) {
+        String normalized = DIFFICULTY_SUFFIX.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        normalized = NON_ALPHANUMERIC.matcher(normalized).replaceAll(" ").trim();
+        return SEQUENCE_PREFIX.matcher(normalized).replaceFirst("").trim();
+    }
+
+    private Verdict loadVerdict(String fingerprint) {
+        try {
+            return knowledgeRepository.findById(fingerprint)
+                    .map(k -> new Verdict(k.getLeadingDifficulty(), k.getTotalVotes(), k.getConfidence()))
+                    .orElse(Verdict.UNKNOWN);
+        } catch (Exception e) {
+            log.warn("Difficulty knowledge lookup failed: {}", e.getMessage());
+            return Verdict.UNKNOWN;
+        }
+    }
+
+    private record Verdict(Topic.DifficultyLevel difficulty, long votes, double confidence) {
+        private static final Verdict UNKNOWN = new Verdict(Topic.DifficultyLevel.MEDIUM, 0, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.syllabusai.service;
+
+import com.syllabusai.exception.SyllabusProcessingException;
+import com.syllabusai.repository.SyllabusOverviewSnapshotRepository;
+import com.syllabusai.repository.SyllabusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OverviewSnapshotService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final SyllabusOverviewSnapshotRepository snapshotRepository;
+    private final SyllabusRepository syllabusRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Callers must have flushed the syllabus and its children, since the snapshot is built in SQL.
+    @Transactional
+    public void refresh(Long syllabusId) {
+        syllabusRepository.findOverviewJson(syllabusId).ifPresent(json -> {
+            snapshotRepository.upsert(syllabusId, json);
+            log.debug("Refreshed overview snapshot for syllabus {}", syllabusId);
+        });
+    }
+
+    @Transactional
+    public void evict(Long syllabusId) {
+        snapshotRepository.evict(syllabusId);
+        log.debug("Evicted overview snapshot for syllabus {}", syllabusId);
+    }
+
+    public String getOverviewJson(Long syllabusId) {
+        String now = LocalDateTime.now().format(DATE_FORMAT);
+
+        Optional<String> snapshot = snapshotRepository.findOverviewJson(syllabusId, now);
+        if (snapshot.isPresent()) {
+            meterRegistry.counter("syllabus.overview.snapshot", "result", "hit").increment();
+            return snapshot.get();
+        }
+
+        // Syllabi stored before snapshots existed are backfilled on first read
+        meterRegistry.counter("syllabus.overview.snapshot", "result", "rebuild").increment();
+        refresh(syllabusId);
+        return snapshotRepository.findOverviewJson(syllabusId, now)
+                .orElseThrow(() -> new SyllabusProcessingException("Syllabus not found with id: " + syllabusId));
+    }
+}
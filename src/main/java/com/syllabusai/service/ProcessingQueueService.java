@@ -0,0 +1,179 @@
+package com.syllabusai.service;
+
+import com.syllabusai.exception.JobClaimLostException;
+import com.syllabusai.exception.SyllabusProcessingException;
+import com.syllabusai.model.ProcessingJob;
+import com.syllabusai.repository.ProcessingJobPayloadStore;
+import com.syllabusai.repository.ProcessingJobRepository;
+import com.syllabusai.repository.SyllabusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@Transactional
+public class ProcessingQueueService {
+
+    private final ProcessingJobRepository jobRepository;
+    private final ProcessingJobPayloadStore payloadStore;
+    private final SyllabusRepository syllabusRepository;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+
+    @Value("${app.jobs.visibility-timeout:10m}")
+    private Duration visibilityTimeout;
+
+    @Value("${app.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.jobs.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    @Value("${app.jobs.done-retention:7d}")
+    private Duration doneRetention;
+
+    public ProcessingQueueService(ProcessingJobRepository jobRepository,
+                                  ProcessingJobPayloadStore payloadStore,
+                                  SyllabusRepository syllabusRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.jobs.node-id:}") String nodeId) {
+        this.jobRepository = jobRepository;
+        this.payloadStore = payloadStore;
+        this.syllabusRepository = syllabusRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+
+    public ProcessingJob enqueue(Long syllabusId, String filename, String contentHash, Path payloadFile) {
+        ProcessingJob job = ProcessingJob.builder()
+                .syllabusId(syllabusId)
+                .filename(filename)
+                .contentHash(contentHash)
+                .maxAttempts(maxAttempts)
+                .visibleAt(LocalDateTime.now())
+                .build();
+
+        ProcessingJob saved = jobRepository.save(job);
+        payloadStore.save(saved.getId(), payloadFile);
+        meterRegistry.counter("syllabus.jobs", "event", "enqueued").increment();
+        log.info("Enqueued processing job {} for syllabus {}", saved.getId(), syllabusId);
+        return saved;
+    }
+
+    public List<ProcessingJob> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProcessingJob> candidates = jobRepository.lockClaimableJobs(now, limit);
+
+        List<ProcessingJob> claimed = candidates.stream()
+                .filter(job -> {
+                    if (job.getAttempts() >= job.getMaxAttempts()) {
+                        // A RUNNING job whose visibility expired on its last attempt: its node died
+                        deadLetter(job, "Visibility timeout expired on final attempt");
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        for (ProcessingJob job : claimed) {
+            if (job.getStatus() == ProcessingJob.JobStatus.RUNNING) {
+                log.warn("Reclaiming job {} from {} after visibility timeout", job.getId(), job.getLockedBy());
+                meterRegistry.counter("syllabus.jobs", "event", "reclaimed").increment();
+            }
+            job.setStatus(ProcessingJob.JobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(nodeId);
+            job.setVisibleAt(now.plus(visibilityTimeout));
+            meterRegistry.counter("syllabus.jobs", "event", "claimed").increment();
+        }
+
+        if (!claimed.isEmpty()) {
+            log.debug("Node {} claimed {} processing jobs", nodeId, claimed.size());
+        }
+        return claimed;
+    }
+
+    // Every update below is fenced on (node, attempt): once a job's visibility expires and another node
+    // reclaims it, a late write from the previous owner must not touch it
+    public void copyPayload(ProcessingJob job, Path target) {
+        if (!payloadStore.copyTo(job.getId(), target)) {
+            throw new SyllabusProcessingException("Job " + job.getId() + " has no stored file");
+        }
+    }
+
+    public void extendVisibility(ProcessingJob job) {
+        int updated = jobRepository.extendClaim(job.getId(), nodeId, job.getAttempts(),
+                LocalDateTime.now().plus(visibilityTimeout));
+        if (updated == 0) {
+            throw new JobClaimLostException(job.getId(), nodeId, job.getAttempts());
+        }
+    }
+
+    public void release(ProcessingJob job) {
+        jobRepository.lockClaim(job.getId(), nodeId, job.getAttempts()).ifPresent(claimed -> {
+            claimed.setStatus(ProcessingJob.JobStatus.QUEUED);
+            claimed.setAttempts(Math.max(0, claimed.getAttempts() - 1));
+            claimed.setLockedBy(null);
+            claimed.setVisibleAt(LocalDateTime.now());
+        });
+    }
+
+    // Must run in the transaction that persists the result, so a lost claim rolls the persist back
+    public void markDone(ProcessingJob job) {
+        if (jobRepository.completeClaim(job.getId(), nodeId, job.getAttempts()) == 0) {
+            throw new JobClaimLostException(job.getId(), nodeId, job.getAttempts());
+        }
+        payloadStore.delete(job.getId());
+        meterRegistry.counter("syllabus.jobs", "event", "done").increment();
+    }
+
+    public boolean markFailed(ProcessingJob claimedJob, String error) {
+        ProcessingJob job = jobRepository.lockClaim(claimedJob.getId(), nodeId, claimedJob.getAttempts())
+                .orElseThrow(() -> new JobClaimLostException(claimedJob.getId(), nodeId, claimedJob.getAttempts()));
+
+        job.setLastError(error);
+        job.setLockedBy(null);
+
+        if (job.getAttempts() >= job.getMaxAttempts()) {
+            deadLetter(job, error);
+            return true;
+        }
+
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(job.getAttempts() - 1, 6));
+        job.setStatus(ProcessingJob.JobStatus.QUEUED);
+        job.setVisibleAt(LocalDateTime.now().plus(backoff));
+        syllabusRepository.updateStatus(job.getSyllabusId(), "QUEUED");
+        meterRegistry.counter("syllabus.jobs", "event", "retried").increment();
+        log.warn("Job {} failed on attempt {}/{}, retrying in {}: {}",
+                job.getId(), job.getAttempts(), job.getMaxAttempts(), backoff, error);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.cleanup-interval-ms:3600000}")
+    public void purgeFinishedJobs() {
+        int deleted = jobRepository.deleteDoneBefore(LocalDateTime.now().minus(doneRetention));
+        if (deleted > 0) {
+            log.info("Purged {} finished processing jobs older than {}", deleted, doneRetention);
+        }
+    }
+
+    private void deadLetter(ProcessingJob job, String error) {
+        job.setStatus(ProcessingJob.JobStatus.DEAD);
+        job.setLastError(error);
+        job.setLockedBy(null);
+        syllabusRepository.updateStatus(job.getSyllabusId(), "FAILED");
+        meterRegistry.counter("syllabus.jobs", "event", "dead").increment();
+        log.error("Job {} for syllabus {} moved to dead-letter after {} attempts: {}",
+                job.getId(), job.getSyllabusId(), job.getAttempts(), error);
+    }
+}
@@ -0,0 +1,230 @@
+package com.syllabusai.service;
+
+import com.syllabusai.dto.SyllabusJobDTO;
+import com.syllabusai.exception.JobClaimLostException;
+import com.syllabusai.exception.SyllabusProcessingException;
+import com.syllabusai.model.ProcessingJob;
+import com.syllabusai.model.Syllabus;
+import com.syllabusai.observer.FileProcessingSubject;
+import com.syllabusai.parser.SyllabusParser;
+import com.syllabusai.parser.SyllabusParserFactory;
+import com.syllabusai.util.HashUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class SyllabusJobService {
+
+    private final SyllabusService syllabusService;
+    private final SyllabusParserFactory parserFactory;
+    private final FileProcessingSubject progressSubject;
+    private final ProcessingQueueService queueService;
+    private final ThreadPoolTaskExecutor uploadJobExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final DifficultyEnrichmentService difficultyEnrichmentService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jobs.spool-directory:${java.io.tmpdir}/syllabusai/jobs}")
+    private Path spoolDirectory;
+
+    @Value("${app.jobs.enabled:true}")
+    private boolean workerEnabled;
+
+    public SyllabusJobService(SyllabusService syllabusService,
+                              SyllabusParserFactory parserFactory,
+                              FileProcessingSubject progressSubject,
+                              ProcessingQueueService queueService,
+                              @Qualifier("uploadJobExecutor") ThreadPoolTaskExecutor uploadJobExecutor,
+                              TransactionTemplate transactionTemplate,
+                              DifficultyEnrichmentService difficultyEnrichmentService,
+                              MeterRegistry meterRegistry) {
+        this.syllabusService = syllabusService;
+        this.parserFactory = parserFactory;
+        this.progressSubject = progressSubject;
+        this.queueService = queueService;
+        this.uploadJobExecutor = uploadJobExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.difficultyEnrichmentService = difficultyEnrichmentService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public SyllabusJobDTO submit(MultipartFile file, String userEmail) {
+        log.info("Queueing syllabus upload for user: {}, file: {}", userEmail, file.getOriginalFilename());
+
+        syllabusService.validateFile(file);
+
+        // Streamed through the digest into a spool file so the upload is never copied onto the heap
+        Path spooled = null;
+        try {
+            Files.createDirectories(spoolDirectory);
+            spooled = Files.createTempFile(spoolDirectory, "upload-", ".pdf");
+            MessageDigest digest = HashUtils.sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path payloadFile = spooled;
+
+            Syllabus queued = transactionTemplate.execute(status -> {
+                Syllabus syllabus = syllabusService.createQueuedSyllabus(file.getOriginalFilename(), userEmail, contentHash);
+                queueService.enqueue(syllabus.getId(), file.getOriginalFilename(), contentHash, payloadFile);
+                return syllabus;
+            });
+            return toJobDTO(queued);
+        } catch (IOException e) {
+            throw new SyllabusProcessingException("Failed to read uploaded file: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval-ms:2000}")
+    public void pollQueue() {
+        if (!workerEnabled) {
+            return;
+        }
+
+        int freeSlots = uploadJobExecutor.getMaxPoolSize() - uploadJobExecutor.getActiveCount()
+                - uploadJobExecutor.getQueueSize();
+        if (freeSlots <= 0) {
+            return;
+        }
+
+        List<ProcessingJob> claimed;
+        try {
+            claimed = queueService.claim(freeSlots);
+        } catch (Exception e) {
+            log.warn("Failed to poll processing queue: {}", e.getMessage());
+            return;
+        }
+
+        for (ProcessingJob job : claimed) {
+            try {
+                uploadJobExecutor.execute(() -> runJob(job));
+            } catch (TaskRejectedException e) {
+                log.warn("Worker pool saturated, releasing job {}", job.getId());
+                queueService.release(job);
+            }
+        }
+    }
+
+    public SyllabusJobDTO getJob(Long jobId) {
+        return toJobDTO(syllabusService.getSyllabusEntity(jobId));
+    }
+
+    private void runJob(ProcessingJob job) {
+        Long jobId = job.getSyllabusId();
+        String filename = job.getFilename();
+        log.info("Processing syllabus job {} ({}), attempt {}/{}", jobId, filename, job.getAttempts(), job.getMaxAttempts());
+
+        Path pdfFile = null;
+        try {
+            progressSubject.notifyProgress(jobId, 10, "Starting file processing");
+
+            Optional<Syllabus> processedCopy = syllabusService.findProcessedCopy(job.getContentHash(), filename);
+
+            Syllabus parsedSyllabus;
+            if (processedCopy.isPresent()) {
+                progressSubject.notifyProgress(jobId, 30, "Identical syllabus found, reusing extracted data");
+                parsedSyllabus = processedCopy.get();
+            } else {
+                SyllabusParser parser = parserFactory.createParser("application/pdf");
+                pdfFile = spoolPayload(job);
+
+                syllabusService.updateStatus(jobId, "PARSING");
+                progressSubject.notifyProgress(jobId, 20, "Extracting text from PDF");
+                String textContent = parser.extractText(pdfFile, filename);
+
+                queueService.extendVisibility(job);
+                syllabusService.updateStatus(jobId, "EXTRACTING");
+                progressSubject.notifyProgress(jobId, 40, "Extracting topics, deadlines and materials");
+                parsedSyllabus = parser.parseText(textContent, filename);
+            }
+
+            queueService.extendVisibility(job);
+            syllabusService.updateStatus(jobId, "PERSISTING");
+            progressSubject.notifyProgress(jobId, 60, "PDF parsed successfully, saving data");
+            transactionTemplate.executeWithoutResult(status -> {
+                // Fence first: the row lock keeps other nodes from reclaiming the job until the persist commits
+                queueService.markDone(job);
+                syllabusService.persistJobResult(jobId, parsedSyllabus);
+            });
+
+            progressSubject.notifyProgress(jobId, 100, "Syllabus processed successfully");
+            progressSubject.notifyComplete(jobId, "Syllabus ID: " + jobId);
+            // After COMPLETE, so the ENRICHED event can never overtake it
+            difficultyEnrichmentService.enqueue(jobId);
+            log.info("Syllabus job {} completed", jobId);
+
+        } catch (JobClaimLostException e) {
+            log.warn("Abandoning syllabus job {}: {}", jobId, e.getMessage());
+            meterRegistry.counter("syllabus.jobs", "event", "claim_lost").increment();
+        } catch (Exception e) {
+            log.error("Syllabus job {} failed: {}", jobId, e.getMessage(), e);
+            try {
+                boolean dead = queueService.markFailed(job, e.getMessage());
+                if (dead) {
+                    progressSubject.notifyError(jobId, "Upload failed: " + e.getMessage());
+                } else {
+                    progressSubject.notifyProgress(jobId, 0, "Processing failed, retry scheduled");
+                }
+            } catch (JobClaimLostException lost) {
+                log.warn("Syllabus job {} failed after its claim moved on, leaving it to the new owner", jobId);
+            }
+        } finally {
+            deleteQuietly(pdfFile);
+        }
+    }
+
+    private Path spoolPayload(ProcessingJob job) throws IOException {
+        Files.createDirectories(spoolDirectory);
+        Path pdfFile = Files.createTempFile(spoolDirectory, "job-" + job.getSyllabusId() + "-", ".pdf");
+        try {
+            queueService.copyPayload(job, pdfFile);
+        } catch (RuntimeException e) {
+            deleteQuietly(pdfFile);
+            throw e;
+        }
+        return pdfFile;
+    }
+
+    private SyllabusJobDTO toJobDTO(Syllabus syllabus) {
+        return SyllabusJobDTO.builder()
+                .jobId(syllabus.getId())
+                .fileName(syllabus.getFilename())
+                .status(syllabus.getStatus())
+                .uploadDate(syllabus.getUploadDate())
+                .build();
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled job file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,23 +1,37 @@
 package com.syllabusai.service;
 
+import com.syllabusai.dto.CursorPage;
+import com.syllabusai.dto.DeadlineDTO;
+import com.syllabusai.dto.MaterialDTO;
 import com.syllabusai.dto.SyllabusDTO;
+import com.syllabusai.dto.TopicDTO;
+import com.syllabusai.exception.AIServiceUnavailableException;
 import com.syllabusai.exception.SyllabusProcessingException;
 import com.syllabusai.model.*;
-import com.syllabusai.observer.FileProcessingSubject;
 import com.syllabusai.parser.SyllabusParser;
 import com.syllabusai.parser.SyllabusParserFactory;
 import com.syllabusai.repository.*;
+import com.syllabusai.util.HashUtils;
+import com.syllabusai.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class SyllabusService {
 
@@ -27,32 +41,57 @@ public class SyllabusService {
     private final DeadlineRepository deadlineRepository;
     private final UserRepository userRepository;
     private final SyllabusParserFactory parserFactory;
-    private final FileProcessingSubject progressSubject;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final OverviewSnapshotService overviewSnapshotService;
+    private final UserIdentityCache userIdentityCache;
+    private final DifficultyEnrichmentService difficultyEnrichmentService;
+
+    // Databases created with IDENTITY keys get sequences starting at 1; this runs at bean init,
+    // before the web server accepts uploads that would collide with existing rows
+    @PostConstruct
+    void alignIdSequences() {
+        long moved = syllabusRepository.alignIdSequences();
+        if (moved > 0) {
+            log.info("Moved {} ID sequences past the existing keys", moved);
+        }
+    }
 
+    // No transaction here on purpose: parsing and AI extraction can take minutes and must not
+    // hold a pooled connection. Only the user lookup and the final save run in short transactions.
+    // No progress events either: there is no job ID to subscribe to, so clients wanting progress use async=true.
     public SyllabusDTO uploadAndParse(MultipartFile file, String userEmail) {
         log.info("Processing syllabus upload for user: {}, file: {}", userEmail, file.getOriginalFilename());
 
         try {
-            progressSubject.notifyProgress(10, "Starting file processing");
-
             validateFile(file);
 
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new SyllabusProcessingException("User not found: " + userEmail));
-
-            progressSubject.notifyProgress(30, "User validated, starting PDF parsing");
+            Long userId = userIdentityCache.requireUserId(userEmail);
 
-            SyllabusParser parser = parserFactory.createParser(file);
-            Syllabus parsedSyllabus = parser.parse(file);
+            String contentHash = computeContentHash(file);
+            Optional<Syllabus> processedCopy = findProcessedCopy(contentHash, file.getOriginalFilename());
 
-            progressSubject.notifyProgress(60, "PDF parsed successfully, saving data");
+            Syllabus parsedSyllabus;
+            if (processedCopy.isPresent()) {
+                parsedSyllabus = processedCopy.get();
+            } else {
+                SyllabusParser parser = parserFactory.createParser(file);
+                parsedSyllabus = parser.parse(file);
+            }
 
-            parsedSyllabus.setUser(user);
+            parsedSyllabus.setContentHash(contentHash);
 
             establishRelationships(parsedSyllabus);
 
-            Syllabus savedSyllabus = syllabusRepository.save(parsedSyllabus);
+            Syllabus toSave = parsedSyllabus;
+            Syllabus savedSyllabus = transactionTemplate.execute(status -> {
+                toSave.setUser(userRepository.getReferenceById(userId));
+                Syllabus saved = syllabusRepository.saveAndFlush(toSave);
+                overviewSnapshotService.refresh(saved.getId());
+                return saved;
+            });
             log.info("Syllabus saved successfully with ID: {}", savedSyllabus.getId());
+            difficultyEnrichmentService.enqueue(savedSyllabus.getId());
 
             log.info("Saved {} topics, {} deadlines, {} materials",
                     savedSyllabus.getTopics().size(),
@@ -66,19 +105,133 @@ public class SyllabusService {
                     .status("PROCESSED")
                     .build();
 
-            progressSubject.notifyProgress(100, "Syllabus processed successfully");
-            progressSubject.notifyComplete("Syllabus ID: " + savedSyllabus.getId());
-
             log.info("Syllabus processed successfully: ID {}", savedSyllabus.getId());
             return result;
 
+        } catch (AIServiceUnavailableException e) {
+            log.warn("Syllabus upload for user: {}, file: {} stopped, AI extraction unavailable: {}",
+                    userEmail, file.getOriginalFilename(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Syllabus upload failed for user: {}, file: {}", userEmail, file.getOriginalFilename(), e);
-            progressSubject.notifyError("Upload failed: " + e.getMessage());
             throw new SyllabusProcessingException("Failed to upload and parse syllabus: " + e.getMessage(), e);
         }
     }
 
+    @Transactional
+    public Syllabus createQueuedSyllabus(String filename, String userEmail, String contentHash) {
+        Syllabus syllabus = Syllabus.builder()
+                .user(userRepository.getReferenceById(userIdentityCache.requireUserId(userEmail)))
+                .filename(filename)
+                .contentHash(contentHash)
+                .status("QUEUED")
+                .build();
+
+        Syllabus saved = syllabusRepository.save(syllabus);
+        log.info("Queued syllabus job {} for user {}", saved.getId(), userEmail);
+        return saved;
+    }
+
+    public void updateStatus(Long syllabusId, String status) {
+        syllabusRepository.updateStatus(syllabusId, status);
+        log.debug("Syllabus {} status -> {}", syllabusId, status);
+    }
+
+    @Transactional
+    public Syllabus persistJobResult(Long syllabusId, Syllabus parsedSyllabus) {
+        Syllabus syllabus = syllabusRepository.findById(syllabusId)
+                .orElseThrow(() -> new SyllabusProcessingException("Syllabus not found with id: " + syllabusId));
+
+        // Replace rather than append, so a retried job never leaves a previous attempt's rows behind
+        syllabus.getTopics().clear();
+        syllabus.getDeadlines().clear();
+        syllabus.getMaterials().clear();
+        parsedSyllabus.getTopics().forEach(syllabus::addTopic);
+        parsedSyllabus.getDeadlines().forEach(syllabus::addDeadline);
+        parsedSyllabus.getMaterials().forEach(syllabus::addMaterial);
+        syllabus.setStatus("DONE");
+
+        Syllabus saved = syllabusRepository.saveAndFlush(syllabus);
+        overviewSnapshotService.refresh(syllabusId);
+        log.info("Saved {} topics, {} deadlines, {} materials for syllabus job {}",
+                saved.getTopics().size(), saved.getDeadlines().size(), saved.getMaterials().size(), syllabusId);
+        return saved;
+    }
+
+    public Optional<Syllabus> findProcessedCopy(String contentHash, String filename) {
+        // Self-invoked from uploadAndParse, so the lazy collections are copied inside an explicit transaction
+        Syllabus copy = transactionTemplate.execute(status -> syllabusRepository
+                .findFirstByContentHashAndStatusInOrderByUploadDateDesc(contentHash, List.of("PARSED", "DONE"))
+                .map(processed -> {
+                    log.info("Identical file already processed as syllabus {}, reusing extracted data", processed.getId());
+                    return copyExtractedContent(processed, filename);
+                })
+                .orElse(null));
+
+        meterRegistry.counter("syllabus.upload.dedup", "result", copy != null ? "hit" : "miss").increment();
+        return Optional.ofNullable(copy);
+    }
+
+    @Transactional(readOnly = true)
+    public Syllabus getSyllabusEntity(Long id) {
+        return syllabusRepository.findById(id)
+                .orElseThrow(() -> new SyllabusProcessingException("Syllabus not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isOwnedBy(Long syllabusId, Long userId) {
+        return syllabusRepository.existsByUserIdAndId(userId, syllabusId);
+    }
+
+    private String computeContentHash(MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            String hash = HashUtils.sha256Hex(inputStream);
+            log.debug("Computed content hash {} for file {}", hash, file.getOriginalFilename());
+            return hash;
+        }
+    }
+
+    private Syllabus copyExtractedContent(Syllabus source, String filename) {
+        Syllabus copy = Syllabus.builder()
+                .filename(filename)
+                .uploadDate(LocalDateTime.now())
+                .status("PARSED")
+                .topics(new ArrayList<>())
+                .materials(new ArrayList<>())
+                .deadlines(new ArrayList<>())
+                .build();
+
+        for (Topic topic : source.getTopics()) {
+            copy.getTopics().add(Topic.builder()
+                    .title(topic.getTitle())
+                    .description(topic.getDescription())
+                    .week(topic.getWeek())
+                    .difficultyLevel(topic.getDifficultyLevel())
+                    .build());
+        }
+
+        for (Deadline deadline : source.getDeadlines()) {
+            copy.getDeadlines().add(Deadline.builder()
+                    .title(deadline.getTitle())
+                    .date(deadline.getDate())
+                    .type(deadline.getType())
+                    .description(deadline.getDescription())
+                    .build());
+        }
+
+        for (Material material : source.getMaterials()) {
+            copy.getMaterials().add(Material.builder()
+                    .title(material.getTitle())
+                    .type(material.getType())
+                    .link(material.getLink())
+                    .build());
+        }
+
+        log.info("Copied {} topics, {} deadlines, {} materials from syllabus {}",
+                copy.getTopics().size(), copy.getDeadlines().size(), copy.getMaterials().size(), source.getId());
+        return copy;
+    }
+
     private void establishRelationships(Syllabus syllabus) {
         log.info("Establishing bidirectional relationships for syllabus");
 
@@ -109,7 +262,7 @@ public class SyllabusService {
         log.info("Bidirectional relationships established successfully");
     }
 
-    private void validateFile(MultipartFile file) {
+    public void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new SyllabusProcessingException("File is empty");
         }
@@ -122,25 +275,67 @@ public class SyllabusService {
     }
 
     @Transactional(readOnly = true)
-    public List<Syllabus> getUserSyllabi(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new SyllabusProcessingException("User not found"));
-        return syllabusRepository.findByUserIdOrderByUploadDateDesc(user.getId());
+    public List<SyllabusDTO> getUserSyllabi(String userEmail) {
+        return userIdentityCache.findUserId(userEmail)
+                .map(userId -> syllabusRepository.findDTOsByUserId(userId, Limit.unlimited()))
+                .orElseGet(List::of);
     }
 
     @Transactional(readOnly = true)
-    public List<Topic> getTopicsBySyllabusId(Long syllabusId) {
-        return topicRepository.findBySyllabusIdOrderByWeekAsc(syllabusId);
+    public CursorPage<SyllabusDTO> getUserSyllabiPage(String userEmail, String cursor, Integer limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        Optional<Long> userId = userIdentityCache.findUserId(userEmail);
+        List<SyllabusDTO> rows;
+        if (userId.isEmpty()) {
+            rows = List.of();
+        } else if (cursor == null) {
+            rows = syllabusRepository.findDTOsByUserId(userId.get(), Limit.of(pageSize + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = syllabusRepository.findDTOsByUserIdBefore(userId.get(), after.dateKey(), after.id(), Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, s -> KeysetCursor.of(s.getUploadDate(), s.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TopicDTO> getTopicsBySyllabusId(Long syllabusId) {
+        return topicRepository.findDTOsBySyllabusId(syllabusId, Limit.unlimited());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TopicDTO> getTopicsPage(Long syllabusId, String cursor, Integer limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<TopicDTO> rows;
+        if (cursor == null) {
+            rows = topicRepository.findDTOsBySyllabusId(syllabusId, Limit.of(pageSize + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = topicRepository.findDTOsBySyllabusIdAfter(syllabusId, after.intKey(), after.id(), Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, t -> KeysetCursor.of(t.getWeek(), t.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaterialDTO> getMaterialsBySyllabusId(Long syllabusId) {
+        return materialRepository.findDTOsBySyllabusId(syllabusId);
     }
 
     @Transactional(readOnly = true)
-    public List<Material> getMaterialsBySyllabusId(Long syllabusId) {
-        return materialRepository.findBySyllabusId(syllabusId);
+    public List<DeadlineDTO> getDeadlinesBySyllabusId(Long syllabusId) {
+        return deadlineRepository.findDTOsBySyllabusId(syllabusId, Limit.unlimited());
     }
 
     @Transactional(readOnly = true)
-    public List<Deadline> getDeadlinesBySyllabusId(Long syllabusId) {
-        return deadlineRepository.findBySyllabusIdOrderByDateAsc(syllabusId);
+    public CursorPage<DeadlineDTO> getDeadlinesPage(Long syllabusId, String cursor, Integer limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<DeadlineDTO> rows;
+        if (cursor == null) {
+            rows = deadlineRepository.findDTOsBySyllabusId(syllabusId, Limit.of(pageSize + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = deadlineRepository.findDTOsBySyllabusIdAfter(syllabusId, after.dateKey(), after.id(), Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, d -> KeysetCursor.of(d.getDate(), d.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -167,6 +362,7 @@ public class SyllabusService {
         }
 
         syllabusRepository.deleteById(id);
+        overviewSnapshotService.evict(id);
         log.info("Syllabus deleted successfully: {}", id);
     }
 }
\ No newline at end of file
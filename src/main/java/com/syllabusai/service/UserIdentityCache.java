@@ -0,0 +1,59 @@
+package com.syllabusai.service;
+
+import com.syllabusai.exception.SyllabusProcessingException;
+import com.syllabusai.repository.UserRepository;
+import com.syllabusai.util.LruTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Only found users are cached, so a new registration never runs into a cached miss
+@Slf4j
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final LruTtlCache<String, Long> userIds;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${app.user-cache.max-entries:1000}") int maxEntries,
+                             @Value("${app.user-cache.ttl:10m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userIds = new LruTtlCache<String, Long>(maxEntries, ttl)
+                .registerMetrics(meterRegistry, "user-identity");
+    }
+
+    public Optional<Long> findUserId(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+
+        Optional<Long> cached = userIds.get(email);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<Long> userId = userRepository.findIdByEmail(email);
+        userId.ifPresent(id -> userIds.put(email, id));
+        return userId;
+    }
+
+    public Long requireUserId(String email) {
+        return findUserId(email)
+                .orElseThrow(() -> new SyllabusProcessingException("User not found: " + email));
+    }
+
+    public void remember(String email, Long userId) {
+        userIds.put(email, userId);
+    }
+
+    public void invalidate(String email) {
+        userIds.invalidate(email);
+        log.debug("Invalidated cached identity for {}", email);
+    }
+}
@@ -17,6 +17,7 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     public Optional<User> findByEmail(String email) {
         log.debug("Finding user by email: {}", email);
@@ -42,7 +43,9 @@ public class UserService {
                 .lastName(lastName)
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userIdentityCache.invalidate(email);
+        return saved;
     }
 
     @Transactional
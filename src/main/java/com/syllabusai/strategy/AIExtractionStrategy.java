@@ -2,6 +2,9 @@ package com.syllabusai.strategy;
 
 import com.syllabusai.adapter.AIService;
 import com.syllabusai.adapter.GeminiAIAdapter;
+import com.syllabusai.adapter.ReactiveAIService;
+import com.syllabusai.exception.AIResponseTruncatedException;
+import com.syllabusai.exception.AIServiceUnavailableException;
 import com.syllabusai.model.*;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,10 +12,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -20,6 +26,7 @@ import java.util.List;
 public class AIExtractionStrategy implements ExtractionStrategy {
 
     private final AIService aiService;
+    private final ReactiveAIService reactiveAIService;
     private final ObjectMapper objectMapper;
 
     @Value("${gemini.api-key:demo-key-placeholder}")
@@ -36,6 +43,8 @@ public class AIExtractionStrategy implements ExtractionStrategy {
             log.debug("Using AI strategy to extract topics");
             String aiResponse = aiService.extractTopics(content);
             return parseAIResponse(aiResponse, "topics");
+        } catch (AIServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("AI topic extraction failed: {}", e.getMessage());
             return new ArrayList<>();
@@ -53,6 +62,8 @@ public class AIExtractionStrategy implements ExtractionStrategy {
             log.debug("Using AI strategy to extract deadlines");
             String aiResponse = aiService.extractDeadlines(content);
             return parseAIResponse(aiResponse, "deadlines");
+        } catch (AIServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("AI deadline extraction failed: {}", e.getMessage());
             return new ArrayList<>();
@@ -70,12 +81,90 @@ public class AIExtractionStrategy implements ExtractionStrategy {
             log.debug("Using AI strategy to extract materials");
             String aiResponse = aiService.extractMaterials(content);
             return parseAIResponse(aiResponse, "materials");
+        } catch (AIServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("AI material extraction failed: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    @Override
+    public ExtractionResult extractAll(String content) {
+        if (isDemoMode()) {
+            log.warn("AI API key not configured, skipping combined AI extraction");
+            return ExtractionResult.empty();
+        }
+
+        try {
+            log.debug("Using AI strategy to extract full syllabus in one call");
+            String aiResponse = aiService.extractSyllabus(content);
+            return parseCombinedAIResponse(aiResponse);
+        } catch (AIResponseTruncatedException | AIServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Combined AI extraction failed: {}", e.getMessage());
+            return ExtractionResult.empty();
+        }
+    }
+
+    @Override
+    public Mono<List<Topic>> extractTopicsAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just(new ArrayList<>());
+        }
+        return reactiveAIService.extractTopicsAsync(content)
+                .publishOn(Schedulers.boundedElastic())
+                .map(aiResponse -> this.<Topic>parseAIResponse(aiResponse, "topics"))
+                .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                    log.warn("AI topic extraction failed: {}", e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    @Override
+    public Mono<List<Deadline>> extractDeadlinesAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just(new ArrayList<>());
+        }
+        return reactiveAIService.extractDeadlinesAsync(content)
+                .publishOn(Schedulers.boundedElastic())
+                .map(aiResponse -> this.<Deadline>parseAIResponse(aiResponse, "deadlines"))
+                .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                    log.warn("AI deadline extraction failed: {}", e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    @Override
+    public Mono<List<Material>> extractMaterialsAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just(new ArrayList<>());
+        }
+        return reactiveAIService.extractMaterialsAsync(content)
+                .publishOn(Schedulers.boundedElastic())
+                .map(aiResponse -> this.<Material>parseAIResponse(aiResponse, "materials"))
+                .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                    log.warn("AI material extraction failed: {}", e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    @Override
+    public Mono<ExtractionResult> extractAllAsync(String content) {
+        if (isDemoMode()) {
+            return Mono.just(ExtractionResult.empty());
+        }
+        // Responses arrive on the Netty event loop; parsing a large JSON body there would stall other calls
+        return reactiveAIService.extractSyllabusAsync(content)
+                .publishOn(Schedulers.boundedElastic())
+                .map(this::parseCombinedAIResponse)
+                .onErrorResume(e -> !(e instanceof AIResponseTruncatedException || e instanceof AIServiceUnavailableException), e -> {
+                    log.warn("Combined AI extraction failed: {}", e.getMessage());
+                    return Mono.just(ExtractionResult.empty());
+                });
+    }
+
     @Override
     public boolean supports(String content) {
         boolean hasKey = !isDemoMode();
@@ -113,41 +202,17 @@ public class AIExtractionStrategy implements ExtractionStrategy {
                 apiKey.trim().isEmpty();
     }
 
-    @SuppressWarnings("unchecked")
     private <T> List<T> parseAIResponse(String jsonResponse, String type) {
         List<T> results = new ArrayList<>();
 
         try {
-            String cleanJson = jsonResponse.trim();
-            if (cleanJson.startsWith("```json")) {
-                cleanJson = cleanJson.substring(7);
-            }
-            if (cleanJson.startsWith("```")) {
-                cleanJson = cleanJson.substring(3);
-            }
-            if (cleanJson.endsWith("```")) {
-                cleanJson = cleanJson.substring(0, cleanJson.length() - 3);
-            }
-            cleanJson = cleanJson.trim();
-
+            String cleanJson = cleanJsonResponse(jsonResponse);
             log.debug("Parsing {} response, cleaned JSON length: {}", type, cleanJson.length());
 
             JsonNode rootNode = objectMapper.readTree(cleanJson);
 
             if (rootNode.isArray()) {
-                log.debug("Found {} items in AI response array", rootNode.size());
-                for (JsonNode node : rootNode) {
-                    try {
-                        T entity = parseEntityFromAI(node, type);
-                        if (entity != null) {
-                            results.add(entity);
-                            log.debug("Successfully parsed {} entity: {}", type, entity);
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to parse {} entity from AI response: {}", type, e.getMessage());
-                        log.debug("Problematic node: {}", node.toString());
-                    }
-                }
+                results = parseEntities(rootNode, type);
             } else {
                 log.warn("AI response is not a JSON array for type: {}", type);
             }
@@ -161,6 +226,80 @@ public class AIExtractionStrategy implements ExtractionStrategy {
         return results;
     }
 
+    @SuppressWarnings("unchecked")
+    private ExtractionResult parseCombinedAIResponse(String jsonResponse) {
+        try {
+            String cleanJson = cleanJsonResponse(jsonResponse);
+            log.debug("Parsing combined response, cleaned JSON length: {}", cleanJson.length());
+
+            JsonNode rootNode = objectMapper.readTree(cleanJson);
+            if (!rootNode.isObject()) {
+                log.warn("Combined AI response is not a JSON object");
+                return ExtractionResult.empty();
+            }
+
+            List<Topic> topics = parseEntities(rootNode.path("topics"), "topics");
+            List<Deadline> deadlines = parseEntities(rootNode.path("deadlines"), "deadlines");
+            List<Material> materials = parseEntities(rootNode.path("materials"), "materials");
+
+            JsonNode courseNode = rootNode.path("course");
+            Map<String, Object> courseInfo = courseNode.isObject()
+                    ? objectMapper.convertValue(courseNode, Map.class)
+                    : Map.of();
+
+            log.info("Parsed combined AI response: {} topics, {} deadlines, {} materials",
+                    topics.size(), deadlines.size(), materials.size());
+
+            return ExtractionResult.builder()
+                    .topics(topics)
+                    .deadlines(deadlines)
+                    .materials(materials)
+                    .courseInfo(courseInfo)
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Failed to parse combined AI response: {}", e.getMessage());
+            log.error("Raw response was: {}", jsonResponse);
+            return ExtractionResult.empty();
+        }
+    }
+
+    private <T> List<T> parseEntities(JsonNode arrayNode, String type) {
+        List<T> results = new ArrayList<>();
+        if (!arrayNode.isArray()) {
+            return results;
+        }
+
+        log.debug("Found {} items in AI response array", arrayNode.size());
+        for (JsonNode node : arrayNode) {
+            try {
+                T entity = parseEntityFromAI(node, type);
+                if (entity != null) {
+                    results.add(entity);
+                    log.debug("Successfully parsed {} entity: {}", type, entity);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to parse {} entity from AI response: {}", type, e.getMessage());
+                log.debug("Problematic node: {}", node.toString());
+            }
+        }
+        return results;
+    }
+
+    private String cleanJsonResponse(String jsonResponse) {
+        String cleanJson = jsonResponse.trim();
+        if (cleanJson.startsWith("```json")) {
+            cleanJson = cleanJson.substring(7);
+        }
+        if (cleanJson.startsWith("```")) {
+            cleanJson = cleanJson.substring(3);
+        }
+        if (cleanJson.endsWith("```")) {
+            cleanJson = cleanJson.substring(0, cleanJson.length() - 3);
+        }
+        return cleanJson.trim();
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T parseEntityFromAI(JsonNode node, String type) {
         try {
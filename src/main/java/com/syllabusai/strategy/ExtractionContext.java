@@ -1,11 +1,15 @@
 package com.syllabusai.strategy;
 
+import com.syllabusai.exception.AIResponseTruncatedException;
+import com.syllabusai.exception.AIServiceUnavailableException;
 import com.syllabusai.model.Topic;
 import com.syllabusai.model.Deadline;
 import com.syllabusai.model.Material;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Comparator;
 import java.util.List;
@@ -34,6 +38,8 @@ public class ExtractionContext {
             log.info("Extracted {} topics using {}", topics.size(), strategy.getName());
             return topics;
 
+        } catch (AIServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Topic extraction failed with {}: {}", strategy.getName(), e.getMessage());
             return tryFallbackExtraction(content, "topics");
@@ -56,6 +62,8 @@ public class ExtractionContext {
             log.info("Extracted {} deadlines using {}", deadlines.size(), strategy.getName());
             return deadlines;
 
+        } catch (AIServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Deadline extraction failed with {}: {}", strategy.getName(), e.getMessage());
             return tryFallbackExtraction(content, "deadlines");
@@ -78,12 +86,122 @@ public class ExtractionContext {
             log.info("Extracted {} materials using {}", materials.size(), strategy.getName());
             return materials;
 
+        } catch (AIServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Material extraction failed with {}: {}", strategy.getName(), e.getMessage());
             return tryFallbackExtraction(content, "materials");
         }
     }
 
+    public ExtractionResult extractAll(String content) {
+        ExtractionStrategy strategy = selectBestStrategy(content);
+        log.info("Selected strategy for combined extraction: {} (confidence: {}%)",
+                strategy.getName(), strategy.getConfidence(content));
+
+        ExtractionResult result;
+        try {
+            result = strategy.extractAll(content);
+        } catch (AIResponseTruncatedException | AIServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Combined extraction failed with {}: {}", strategy.getName(), e.getMessage());
+            result = ExtractionResult.empty();
+        }
+
+        return withFallbacks(content, strategy, result);
+    }
+
+    public Mono<List<Topic>> extractTopicsAsync(String content) {
+        return Mono.defer(() -> {
+            ExtractionStrategy strategy = selectBestStrategy(content);
+            log.info("Selected strategy for async topic extraction: {}", strategy.getName());
+            return strategy.extractTopicsAsync(content)
+                    .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                        log.error("Topic extraction failed with {}: {}", strategy.getName(), e.getMessage());
+                        return Mono.just(List.of());
+                    })
+                    .flatMap(topics -> topics.isEmpty() ? this.<Topic>fallbackAsync(content, "topics") : Mono.just(topics));
+        });
+    }
+
+    public Mono<List<Deadline>> extractDeadlinesAsync(String content) {
+        return Mono.defer(() -> {
+            ExtractionStrategy strategy = selectBestStrategy(content);
+            log.info("Selected strategy for async deadline extraction: {}", strategy.getName());
+            return strategy.extractDeadlinesAsync(content)
+                    .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                        log.error("Deadline extraction failed with {}: {}", strategy.getName(), e.getMessage());
+                        return Mono.just(List.of());
+                    })
+                    .flatMap(deadlines -> deadlines.isEmpty() ? this.<Deadline>fallbackAsync(content, "deadlines") : Mono.just(deadlines));
+        });
+    }
+
+    public Mono<List<Material>> extractMaterialsAsync(String content) {
+        return Mono.defer(() -> {
+            ExtractionStrategy strategy = selectBestStrategy(content);
+            log.info("Selected strategy for async material extraction: {}", strategy.getName());
+            return strategy.extractMaterialsAsync(content)
+                    .onErrorResume(e -> !(e instanceof AIServiceUnavailableException), e -> {
+                        log.error("Material extraction failed with {}: {}", strategy.getName(), e.getMessage());
+                        return Mono.just(List.of());
+                    })
+                    .flatMap(materials -> materials.isEmpty() ? this.<Material>fallbackAsync(content, "materials") : Mono.just(materials));
+        });
+    }
+
+    // Truncated combined responses still error out so the caller can switch to per-kind extraction;
+    // an unavailable Gemini errors out too, since regex-only results must not pass for a finished extraction
+    public Mono<ExtractionResult> extractAllAsync(String content) {
+        return Mono.defer(() -> {
+            ExtractionStrategy strategy = selectBestStrategy(content);
+            log.info("Selected strategy for async combined extraction: {}", strategy.getName());
+            return strategy.extractAllAsync(content)
+                    .onErrorResume(e -> !(e instanceof AIResponseTruncatedException || e instanceof AIServiceUnavailableException), e -> {
+                        log.error("Combined extraction failed with {}: {}", strategy.getName(), e.getMessage());
+                        return Mono.just(ExtractionResult.empty());
+                    })
+                    .flatMap(result -> Mono.fromCallable(() -> withFallbacks(content, strategy, result))
+                            .subscribeOn(Schedulers.boundedElastic()));
+        });
+    }
+
+    // The regex fallback scans the whole syllabus, so it must not run on the Netty event loop that emitted
+    private <T> Mono<List<T>> fallbackAsync(String content, String type) {
+        return Mono.fromCallable(() -> this.<T>tryFallbackExtraction(content, type))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ExtractionResult withFallbacks(String content, ExtractionStrategy strategy, ExtractionResult result) {
+        List<Topic> topics = result.getTopics();
+        if (topics.isEmpty()) {
+            log.warn("Primary strategy {} returned no topics, trying fallback", strategy.getName());
+            topics = tryFallbackExtraction(content, "topics");
+        }
+
+        List<Deadline> deadlines = result.getDeadlines();
+        if (deadlines.isEmpty()) {
+            log.warn("Primary strategy {} returned no deadlines, trying fallback", strategy.getName());
+            deadlines = tryFallbackExtraction(content, "deadlines");
+        }
+
+        List<Material> materials = result.getMaterials();
+        if (materials.isEmpty()) {
+            log.warn("Primary strategy {} returned no materials, trying fallback", strategy.getName());
+            materials = tryFallbackExtraction(content, "materials");
+        }
+
+        log.info("Extracted {} topics, {} deadlines, {} materials using {}",
+                topics.size(), deadlines.size(), materials.size(), strategy.getName());
+
+        return result.toBuilder()
+                .topics(topics)
+                .deadlines(deadlines)
+                .materials(materials)
+                .build();
+    }
+
     @SuppressWarnings("unchecked")
     private <T> List<T> tryFallbackExtraction(String content, String type) {
         log.info("Attempting fallback extraction for {}", type);
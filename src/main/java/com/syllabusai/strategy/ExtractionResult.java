@@ -0,0 +1,32 @@
+package com.syllabusai.strategy;
+
+import com.syllabusai.model.Deadline;
+import com.syllabusai.model.Material;
+import com.syllabusai.model.Topic;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder(toBuilder = true)
+public class ExtractionResult {
+
+    @Builder.Default
+    private final List<Topic> topics = new ArrayList<>();
+
+    @Builder.Default
+    private final List<Deadline> deadlines = new ArrayList<>();
+
+    @Builder.Default
+    private final List<Material> materials = new ArrayList<>();
+
+    @Builder.Default
+    private final Map<String, Object> courseInfo = Map.of();
+
+    public static ExtractionResult empty() {
+        return ExtractionResult.builder().build();
+    }
+}
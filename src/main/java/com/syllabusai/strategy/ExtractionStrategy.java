@@ -3,6 +3,7 @@ package com.syllabusai.strategy;
 import com.syllabusai.model.Topic;
 import com.syllabusai.model.Deadline;
 import com.syllabusai.model.Material;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -17,4 +18,30 @@ public interface ExtractionStrategy {
     default int getConfidence(String content) {
         return supports(content) ? 80 : 0;
     }
+
+    default ExtractionResult extractAll(String content) {
+        return ExtractionResult.builder()
+                .topics(extractTopics(content))
+                .deadlines(extractDeadlines(content))
+                .materials(extractMaterials(content))
+                .build();
+    }
+
+    // Strategies without non-blocking I/O run the blocking method lazily on the subscribing thread
+
+    default Mono<List<Topic>> extractTopicsAsync(String content) {
+        return Mono.fromCallable(() -> extractTopics(content));
+    }
+
+    default Mono<List<Deadline>> extractDeadlinesAsync(String content) {
+        return Mono.fromCallable(() -> extractDeadlines(content));
+    }
+
+    default Mono<List<Material>> extractMaterialsAsync(String content) {
+        return Mono.fromCallable(() -> extractMaterials(content));
+    }
+
+    default Mono<ExtractionResult> extractAllAsync(String content) {
+        return Mono.fromCallable(() -> extractAll(content));
+    }
 }
\ No newline at end of file
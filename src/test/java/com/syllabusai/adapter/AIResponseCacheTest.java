@@ -0,0 +1,79 @@
+package com.syllabusai.adapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AIResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sweepDeletesExpiredEntries() throws IOException {
+        AIResponseCache cache = cache(DataSize.ofMegabytes(1));
+        Path expired = entry("expired", 10, Instant.now().minus(Duration.ofDays(2)));
+        Path fresh = entry("fresh", 10, Instant.now());
+
+        cache.sweepDisk();
+
+        assertThat(expired).doesNotExist();
+        assertThat(fresh).exists();
+        assertThat(evictions()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sweepEvictsOldestEntriesOverTheSizeCap() throws IOException {
+        AIResponseCache cache = cache(DataSize.ofBytes(250));
+        Instant now = Instant.now();
+        Path oldest = entry("oldest", 100, now.minusSeconds(30));
+        Path older = entry("older", 100, now.minusSeconds(20));
+        Path newer = entry("newer", 100, now.minusSeconds(10));
+
+        cache.sweepDisk();
+
+        assertThat(oldest).doesNotExist();
+        assertThat(older).exists();
+        assertThat(newer).exists();
+        assertThat(evictions()).isEqualTo(1.0);
+    }
+
+    @Test
+    void computedResponsesAreReadBackFromDisk() {
+        cache(DataSize.ofMegabytes(1)).getOrCompute("topics", "v1", "content", () -> "[{\"title\":\"A\"}]");
+
+        // A second instance has an empty memory tier, as after a restart
+        AIResponseCache restarted = new AIResponseCache(true, 10, Duration.ofDays(1), directory,
+                DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        String cached = restarted.getOrCompute("topics", "v1", "  content ", () -> "[]");
+
+        assertThat(cached).isEqualTo("[{\"title\":\"A\"}]");
+    }
+
+    private AIResponseCache cache(DataSize maxDiskSize) {
+        return new AIResponseCache(true, 10, Duration.ofDays(1), directory, maxDiskSize, meterRegistry);
+    }
+
+    private Path entry(String key, int size, Instant modified) throws IOException {
+        Path file = directory.resolve(key + ".json");
+        Files.write(file, new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    private double evictions() {
+        return meterRegistry.get("ai.cache.disk.evictions").counter().count();
+    }
+}
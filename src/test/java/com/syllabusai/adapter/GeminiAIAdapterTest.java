@@ -0,0 +1,101 @@
+package com.syllabusai.adapter;
+
+import com.syllabusai.exception.AIServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiAIAdapterTest {
+
+    private static final String ANSWER = """
+            {"candidates": [{"finishReason": "STOP", "content": {"parts": [{"text": "[{\\"week\\": 1}]"}]}}],
+             "usageMetadata": {"promptTokenCount": 10}}""";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void returnsAnswerText() {
+        GeminiAIAdapter adapter = adapter(List.of(HttpStatus.OK));
+
+        assertThat(adapter.extractTopics("syllabus text")).isEqualTo("[{\"week\": 1}]");
+    }
+
+    @Test
+    void retriesThrottledCallAndThenSucceeds() {
+        GeminiAIAdapter adapter = adapter(List.of(HttpStatus.TOO_MANY_REQUESTS, HttpStatus.OK));
+
+        assertThat(adapter.extractTopics("syllabus text")).isEqualTo("[{\"week\": 1}]");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void throwsOnceThrottleRetriesAreUsedUp() {
+        GeminiAIAdapter adapter = adapter(List.of(HttpStatus.TOO_MANY_REQUESTS, HttpStatus.SERVICE_UNAVAILABLE,
+                HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThatThrownBy(() -> adapter.extractTopics("syllabus text"))
+                .isInstanceOf(AIServiceUnavailableException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void throwsOnServerErrorInsteadOfAnsweringEmpty() {
+        GeminiAIAdapter adapter = adapter(List.of(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThatThrownBy(() -> adapter.extractSyllabus("syllabus text"))
+                .isInstanceOf(AIServiceUnavailableException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void asyncCallErrorsOnceThrottleRetriesAreUsedUp() {
+        GeminiAIAdapter adapter = adapter(List.of(HttpStatus.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS,
+                HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThatThrownBy(() -> adapter.extractTopicsAsync("syllabus text").block(Duration.ofSeconds(10)))
+                .isInstanceOf(AIServiceUnavailableException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    // Each call answers with the next status; Retry-After 0 keeps the limiter from pausing the test
+    private GeminiAIAdapter adapter(List<HttpStatus> statuses) {
+        Queue<HttpStatus> pending = new ArrayDeque<>(statuses);
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    HttpStatus status = pending.isEmpty() ? HttpStatus.OK : pending.poll();
+                    ClientResponse.Builder response = ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.RETRY_AFTER, "0");
+                    return Mono.just(status.is2xxSuccessful() ? response.body(ANSWER).build() : response.build());
+                })
+                .build();
+        GeminiRateLimiter rateLimiter = new GeminiRateLimiter(6000, 100, 1_000_000, 1, 4,
+                Duration.ofSeconds(20), 0.5, Duration.ZERO, meterRegistry);
+        AIResponseCache responseCache = new AIResponseCache(false, 10, Duration.ofMinutes(1),
+                Path.of("unused"), DataSize.ofMegabytes(1), meterRegistry);
+
+        GeminiAIAdapter adapter = new GeminiAIAdapter(webClient, rateLimiter, responseCache);
+        ReflectionTestUtils.setField(adapter, "apiKey", "test-key");
+        ReflectionTestUtils.setField(adapter, "maxThrottleRetries", 2);
+        return adapter;
+    }
+}
@@ -0,0 +1,157 @@
+package com.syllabusai.adapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeminiRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void successfulCallsGrowLimitUpToMax() throws InterruptedException {
+        GeminiRateLimiter limiter = limiter(6000, 4);
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(2.0);
+
+        GeminiRateLimiter.Permit permit = limiter.acquire(1);
+        permit.recordSuccess(0);
+        permit.release();
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(2.5);
+
+        for (int i = 0; i < 50; i++) {
+            GeminiRateLimiter.Permit next = limiter.acquire(1);
+            next.recordSuccess(0);
+            next.release();
+        }
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(4.0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void throttleShrinksLimitAndPausesUntilRetryAfter() throws InterruptedException {
+        GeminiRateLimiter limiter = limiter(6000, 4);
+
+        GeminiRateLimiter.Permit permit = limiter.acquire(1);
+        permit.recordThrottled(Duration.ofMillis(300));
+        permit.release();
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(1.0);
+
+        long start = System.nanoTime();
+        limiter.acquire(1).release();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void releaseHandsSlotToQueuedCaller() throws Exception {
+        GeminiRateLimiter limiter = limiter(6000, 1);
+        GeminiRateLimiter.Permit first = limiter.acquire(1);
+
+        CompletableFuture<GeminiRateLimiter.Permit> second = limiter.acquireAsync(1).toFuture();
+        assertThat(limiter.getQueued()).isEqualTo(1);
+        assertThat(second).isNotDone();
+
+        first.release();
+        first.release();
+        GeminiRateLimiter.Permit granted = second.get(5, TimeUnit.SECONDS);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueued()).isZero();
+
+        granted.release();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void cancelledAsyncWaiterLeavesQueueAndRefundsTokens() throws InterruptedException {
+        GeminiRateLimiter limiter = limiter(400, 1);
+        GeminiRateLimiter.Permit first = limiter.acquire(10);
+
+        Disposable queued = limiter.acquireAsync(50).subscribe();
+        assertThat(limiter.getQueued()).isEqualTo(1);
+        assertThat(availableTokens()).isCloseTo(40.0, within(1.0));
+
+        queued.dispose();
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(availableTokens()).isCloseTo(90.0, within(1.0));
+
+        first.release();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void interruptedBlockingWaiterLeavesQueueAndRefundsTokens() throws Exception {
+        GeminiRateLimiter limiter = limiter(400, 1);
+        GeminiRateLimiter.Permit first = limiter.acquire(10);
+
+        AtomicReference<Throwable> outcome = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire(50);
+            } catch (Throwable e) {
+                outcome.set(e);
+            } finally {
+                done.countDown();
+            }
+        });
+        waiter.start();
+        while (limiter.getQueued() == 0) {
+            Thread.sleep(5);
+        }
+
+        waiter.interrupt();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(outcome.get()).isInstanceOf(InterruptedException.class);
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(availableTokens()).isCloseTo(90.0, within(1.0));
+
+        first.release();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void cancelDuringRateLimitDelayRefundsTokens() throws InterruptedException {
+        GeminiRateLimiter limiter = limiter(400, 4);
+        GeminiRateLimiter.Permit first = limiter.acquire(60);
+
+        Disposable delayed = limiter.acquireAsync(80).subscribe();
+        assertThat(availableTokens()).isCloseTo(-40.0, within(1.0));
+
+        delayed.dispose();
+        assertThat(availableTokens()).isCloseTo(40.0, within(1.0));
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        first.release();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void successSettlesEstimateAgainstActualTokens() throws InterruptedException {
+        GeminiRateLimiter limiter = limiter(400, 4);
+
+        GeminiRateLimiter.Permit permit = limiter.acquire(60);
+        assertThat(availableTokens()).isCloseTo(40.0, within(1.0));
+
+        permit.recordSuccess(20);
+        permit.release();
+        assertThat(availableTokens()).isCloseTo(80.0, within(1.0));
+    }
+
+    // The token bucket holds a quarter of tokensPerMinute, so 400 gives a capacity of 100
+    private GeminiRateLimiter limiter(int tokensPerMinute, int maxConcurrent) {
+        return new GeminiRateLimiter(6000, 100, tokensPerMinute, 1, maxConcurrent,
+                Duration.ofSeconds(20), 0.5, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    private double availableTokens() {
+        return meterRegistry.get("gemini.limiter.bucket.available").tag("bucket", "tokens").gauge().value();
+    }
+}
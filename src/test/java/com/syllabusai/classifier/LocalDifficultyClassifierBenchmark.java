@@ -0,0 +1,69 @@
+package com.syllabusai.classifier;
+
+import com.syllabusai.model.Topic;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Run main from the IDE, or org.openjdk.jmh.Main on the test classpath after mvn test-compile
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDifficultyClassifierBenchmark {
+
+    private static final String[] EASY = {"introduction", "overview", "basics", "history", "getting started", "fundamentals"};
+    private static final String[] MEDIUM = {"design patterns", "recursion", "sorting algorithms", "linked lists", "testing"};
+    private static final String[] HARD = {"advanced concurrency", "compiler optimization", "distributed consensus",
+            "complexity theory", "formal verification"};
+    private static final String[] SUBJECTS = {"java", "databases", "networks", "operating systems", "machine learning"};
+
+    private HashedNgramFeaturizer featurizer;
+    private NaiveBayesDifficultyModel model;
+    private String title;
+
+    @Setup
+    public void setUp() throws IOException {
+        featurizer = new HashedNgramFeaturizer(16);
+        NaiveBayesDifficultyModel trained = new NaiveBayesDifficultyModel(16);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int label = random.nextInt(3);
+            String[] vocabulary = label == 0 ? EASY : label == 1 ? MEDIUM : HARD;
+            String sample = vocabulary[random.nextInt(vocabulary.length)] + " of "
+                    + SUBJECTS[random.nextInt(SUBJECTS.length)] + " part " + random.nextInt(10);
+            trained.learn(featurizer.features(sample), Topic.DifficultyLevel.values()[label], 1);
+        }
+
+        // Benchmark the model as the application loads it
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trained.writeTo(out);
+        model = NaiveBayesDifficultyModel.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        title = "Advanced concurrency in Java: memory model, locks and lock-free data structures";
+    }
+
+    @Benchmark
+    public NaiveBayesDifficultyModel.Prediction classify() {
+        return model.predict(featurizer.features(title));
+    }
+
+    @Benchmark
+    public int[] featurize() {
+        return featurizer.features(title);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LocalDifficultyClassifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.syllabusai.classifier;
+
+import com.syllabusai.model.Topic;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class NaiveBayesDifficultyModelTest {
+
+    private static final int[] EASY_FEATURES = {1, 2, 3};
+    private static final int[] HARD_FEATURES = {200, 201, 202};
+
+    @Test
+    void predictsTheClassItLearned() {
+        NaiveBayesDifficultyModel model = trainedModel();
+
+        assertThat(model.predict(EASY_FEATURES).difficulty()).isEqualTo(Topic.DifficultyLevel.EASY);
+        assertThat(model.predict(HARD_FEATURES).difficulty()).isEqualTo(Topic.DifficultyLevel.HARD);
+        assertThat(model.predict(HARD_FEATURES).confidence()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void untrainedModelFallsBackToMedium() {
+        NaiveBayesDifficultyModel model = new NaiveBayesDifficultyModel(8);
+
+        NaiveBayesDifficultyModel.Prediction prediction = model.predict(EASY_FEATURES);
+
+        assertThat(prediction.difficulty()).isEqualTo(Topic.DifficultyLevel.MEDIUM);
+        assertThat(prediction.confidence()).isZero();
+    }
+
+    @Test
+    void writeThenReadRestoresTheModel() throws IOException {
+        NaiveBayesDifficultyModel model = trainedModel();
+
+        NaiveBayesDifficultyModel restored = NaiveBayesDifficultyModel.readFrom(new ByteArrayInputStream(write(model)));
+
+        assertThat(restored.getBucketBits()).isEqualTo(model.getBucketBits());
+        assertThat(restored.getDocumentCount()).isEqualTo(model.getDocumentCount());
+        for (int[] features : new int[][]{EASY_FEATURES, HARD_FEATURES, {5, 200, 77}}) {
+            NaiveBayesDifficultyModel.Prediction expected = model.predict(features);
+            NaiveBayesDifficultyModel.Prediction actual = restored.predict(features);
+            assertThat(actual.difficulty()).isEqualTo(expected.difficulty());
+            assertThat(actual.confidence()).isCloseTo(expected.confidence(), within(1e-12));
+        }
+    }
+
+    @Test
+    void rejectsFileWithWrongMagic() {
+        byte[] bytes = write(trainedModel());
+        bytes[0] ^= 0x7f;
+
+        assertThatThrownBy(() -> NaiveBayesDifficultyModel.readFrom(new ByteArrayInputStream(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a difficulty model");
+    }
+
+    @Test
+    void rejectsBucketBitsOutOfRangeBeforeAllocating() {
+        byte[] bytes = write(trainedModel());
+        bytes[5] = 31;
+
+        assertThatThrownBy(() -> NaiveBayesDifficultyModel.readFrom(new ByteArrayInputStream(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("bucket bits");
+        assertThatThrownBy(() -> new NaiveBayesDifficultyModel(31))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsBucketIndexOutOfRange() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x53444e42);
+        out.writeByte(1);
+        out.writeByte(8);
+        for (int c = 0; c < Topic.DifficultyLevel.values().length; c++) {
+            out.writeLong(1);
+        }
+        out.writeInt(1);
+        out.writeInt(256);
+        out.writeInt(3);
+
+        assertThatThrownBy(() -> NaiveBayesDifficultyModel.readFrom(new ByteArrayInputStream(bytes.toByteArray())))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("bucket out of range");
+    }
+
+    @Test
+    void rejectsTruncatedFile() {
+        byte[] bytes = write(trainedModel());
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThatThrownBy(() -> NaiveBayesDifficultyModel.readFrom(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(EOFException.class);
+    }
+
+    private static NaiveBayesDifficultyModel trainedModel() {
+        NaiveBayesDifficultyModel model = new NaiveBayesDifficultyModel(8);
+        model.learn(EASY_FEATURES, Topic.DifficultyLevel.EASY, 3);
+        model.learn(new int[]{100, 101}, Topic.DifficultyLevel.MEDIUM, 2);
+        model.learn(HARD_FEATURES, Topic.DifficultyLevel.HARD, 3);
+        return model;
+    }
+
+    private static byte[] write(NaiveBayesDifficultyModel model) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            model.writeTo(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.syllabusai.decorator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syllabusai.adapter.AIService;
+import com.syllabusai.classifier.LocalDifficultyClassifier;
+import com.syllabusai.exception.AIServiceUnavailableException;
+import com.syllabusai.model.Topic;
+import com.syllabusai.service.DifficultyKnowledgeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AIDifficultyDecoratorTest {
+
+    private final AIService aiService = mock(AIService.class);
+    private final DifficultyKnowledgeService knowledgeService = mock(DifficultyKnowledgeService.class);
+    private final LocalDifficultyClassifier localClassifier = mock(LocalDifficultyClassifier.class);
+    private final AIDifficultyDecorator decorator = new AIDifficultyDecorator(aiService, new ObjectMapper(),
+            knowledgeService, localClassifier, 25);
+
+    private final List<Topic> topics = List.of(
+            topic("Introduction to patterns"),
+            topic("Visitor"),
+            topic("Advanced bridge composition"));
+
+    @BeforeEach
+    void setUp() {
+        when(knowledgeService.lookup(any())).thenReturn(Optional.empty());
+        when(localClassifier.classify(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void classifiesAllTopicsWithOneBatchCall() {
+        when(aiService.generateText(anyString())).thenReturn("""
+                [{"index": 0, "difficulty": "EASY"}, {"index": 1, "difficulty": "HARD"}, {"index": 2, "difficulty": "MEDIUM"}]""");
+
+        assertThat(decorator.classifyDifficulties(topics)).containsExactly(
+                Topic.DifficultyLevel.EASY, Topic.DifficultyLevel.HARD, Topic.DifficultyLevel.MEDIUM);
+        verify(aiService, times(1)).generateText(anyString());
+        verify(knowledgeService, times(3)).recordVote(any(), any());
+    }
+
+    @Test
+    void asksSingleTopicOnlyForEntriesMissingFromBatchAnswer() {
+        when(aiService.generateText(contains("Respond ONLY with a JSON array"))).thenReturn("""
+                [{"index": 0, "difficulty": "EASY"}, {"index": 2, "difficulty": "HARD"}]""");
+        when(aiService.generateText(contains("TOPIC: Visitor"))).thenReturn("MEDIUM");
+
+        assertThat(decorator.classifyDifficulties(topics)).containsExactly(
+                Topic.DifficultyLevel.EASY, Topic.DifficultyLevel.MEDIUM, Topic.DifficultyLevel.HARD);
+        verify(aiService, times(2)).generateText(anyString());
+    }
+
+    @Test
+    void failedBatchFallsBackWithoutPerTopicCalls() {
+        when(aiService.generateText(anyString())).thenThrow(new AIServiceUnavailableException("Gemini returned 429"));
+
+        assertThat(decorator.classifyDifficulties(topics)).containsExactly(
+                Topic.DifficultyLevel.EASY, Topic.DifficultyLevel.MEDIUM, Topic.DifficultyLevel.HARD);
+        verify(aiService, times(1)).generateText(anyString());
+        verify(knowledgeService, times(0)).recordVote(any(), any());
+    }
+
+    @Test
+    void emptyBatchAnswerFallsBackWithoutPerTopicCalls() {
+        when(aiService.generateText(anyString())).thenReturn("[]");
+
+        decorator.classifyDifficulties(topics);
+
+        verify(aiService, times(1)).generateText(anyString());
+    }
+
+    @Test
+    void knownTopicsSkipGemini() {
+        when(knowledgeService.lookup(any())).thenReturn(Optional.of(Topic.DifficultyLevel.HARD));
+
+        assertThat(decorator.classifyDifficulties(topics)).containsOnly(Topic.DifficultyLevel.HARD);
+        verify(aiService, times(0)).generateText(anyString());
+    }
+
+    private static Topic topic(String title) {
+        return Topic.builder().title(title).week(1).build();
+    }
+}
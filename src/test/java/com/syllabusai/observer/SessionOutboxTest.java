@@ -0,0 +1,179 @@
+package com.syllabusai.observer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionOutboxTest {
+
+    private final WebSocketSession session = mock(WebSocketSession.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    // Tasks handed to the sender pool, run by the test so every interleaving is deterministic
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    @BeforeEach
+    void setUp() {
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void queuedProgressIsOverwrittenByLatest() throws IOException {
+        SessionOutbox outbox = outbox(1024);
+
+        assertThat(outbox.offerProgress(1L, "job1 10%")).isTrue();
+        assertThat(outbox.offerProgress(2L, "job2 10%")).isTrue();
+        assertThat(outbox.offerProgress(1L, "job1 50%")).isTrue();
+        runTasks();
+
+        assertThat(sent()).containsExactly("job1 50%", "job2 10%");
+    }
+
+    @Test
+    void completeIsNeverOvertakenByProgress() throws IOException {
+        SessionOutbox outbox = outbox(1024);
+
+        outbox.offerProgress(1L, "job1 90%");
+        outbox.offer("job1 COMPLETE");
+        outbox.offerProgress(1L, "job1 late");
+        runTasks();
+
+        assertThat(sent()).containsExactly("job1 90%", "job1 COMPLETE", "job1 late");
+    }
+
+    @Test
+    void onlyOneDrainRunsAtATime() throws IOException {
+        SessionOutbox outbox = outbox(1024);
+
+        outbox.offer("a");
+        outbox.offer("b");
+        outbox.offer("c");
+        assertThat(tasks).hasSize(1);
+        runTasks();
+
+        assertThat(sent()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void rejectsOfferOverBufferLimit() {
+        SessionOutbox outbox = outbox(8);
+
+        assertThat(outbox.offer("1234")).isTrue();
+        assertThat(outbox.offer("56789")).isFalse();
+    }
+
+    @Test
+    void rejectsOfferToClosedSession() {
+        SessionOutbox outbox = outbox(1024);
+        when(session.isOpen()).thenReturn(false);
+
+        assertThat(outbox.offer("a")).isFalse();
+    }
+
+    @Test
+    void sendFailureClosesSessionAndDropsTheRest() throws IOException {
+        SessionOutbox outbox = outbox(1024);
+        doThrow(new IOException("broken pipe")).when(session).sendMessage(any());
+
+        outbox.offer("a");
+        outbox.offer("b");
+        runTasks();
+
+        verify(session, times(1)).sendMessage(any());
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(outbox.offer("c")).isFalse();
+    }
+
+    @Test
+    void closeIsRetriedWhileSenderPoolIsSaturated() throws IOException {
+        SessionOutbox outbox = outbox(1024);
+        doThrow(new TaskRejectedException("full"))
+                .doAnswer(invocation -> {
+                    ((Runnable) invocation.getArgument(0)).run();
+                    return null;
+                })
+                .when(executor).execute(any(Runnable.class));
+
+        outbox.close(CloseStatus.GOING_AWAY);
+
+        verify(session, never()).close(any());
+        verify(session, timeout(5000)).close(CloseStatus.GOING_AWAY);
+    }
+
+    @Test
+    void stalledSendIsAbortedWithoutASenderThread() throws Exception {
+        CountDownLatch socketClosed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            socketClosed.await(5, TimeUnit.SECONDS);
+            throw new IOException("socket closed");
+        }).when(session).sendMessage(any());
+        doAnswer(invocation -> {
+            socketClosed.countDown();
+            return null;
+        }).when(session).close(any());
+        SessionOutbox outbox = new SessionOutbox(session, executor, 20, 1024);
+
+        outbox.offer("a");
+        Thread sender = new Thread(tasks.poll());
+        sender.start();
+        Thread.sleep(60);
+
+        assertThat(outbox.isSendStalled(System.nanoTime())).isTrue();
+        outbox.abort();
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        sender.join(5000);
+        assertThat(sender.isAlive()).isFalse();
+        assertThat(tasks).isEmpty();
+        assertThat(outbox.offer("b")).isFalse();
+    }
+
+    @Test
+    void idleOutboxIsNotStalled() {
+        SessionOutbox outbox = new SessionOutbox(session, executor, 20, 1024);
+
+        assertThat(outbox.isSendStalled(System.nanoTime() + TimeUnit.SECONDS.toNanos(1))).isFalse();
+    }
+
+    private SessionOutbox outbox(long bufferSizeLimit) {
+        return new SessionOutbox(session, executor, 10_000, bufferSizeLimit);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private List<String> sent() throws IOException {
+        ArgumentCaptor<TextMessage> messages = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, atLeast(0)).sendMessage(messages.capture());
+        return messages.getAllValues().stream().map(TextMessage::getPayload).toList();
+    }
+}
@@ -0,0 +1,174 @@
+package com.syllabusai.observer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SseProgressObserverTest {
+
+    private static final long JOB = 42L;
+
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+
+    @BeforeEach
+    void setUp() {
+        // Drains run inline so every test sees the sends synchronously
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void resumesAfterLastEventId() {
+        SseProgressObserver observer = observer(32, Duration.ofMinutes(5));
+        publishProgress(observer, 3);
+
+        RecordingEmitter emitter = attach(observer, 1);
+
+        assertThat(emitter.ids()).containsExactly(2L, 3L);
+        assertThat(emitter.completed).isFalse();
+    }
+
+    @Test
+    void liveEventsFollowTheReplay() {
+        SseProgressObserver observer = observer(32, Duration.ofMinutes(5));
+        publishProgress(observer, 1);
+        RecordingEmitter emitter = attach(observer, 0);
+
+        observer.update(JOB, 50, "Halfway");
+
+        assertThat(emitter.ids()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ringBufferKeepsOnlyTheMostRecentEvents() {
+        SseProgressObserver observer = observer(3, Duration.ofMinutes(5));
+        publishProgress(observer, 5);
+
+        RecordingEmitter emitter = attach(observer, 0);
+
+        assertThat(emitter.ids()).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void lastEventIdFromAnEarlierStreamReplaysEverything() {
+        SseProgressObserver observer = observer(32, Duration.ofMinutes(5));
+        publishProgress(observer, 2);
+
+        RecordingEmitter emitter = attach(observer, 10);
+
+        assertThat(emitter.ids()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void terminalEventCompletesCaughtUpSubscribersAndIsSentOnlyOnce() {
+        SseProgressObserver observer = observer(32, Duration.ofMinutes(5));
+        RecordingEmitter live = attach(observer, 0);
+
+        observer.onComplete(JOB, "Syllabus ID: 42");
+        observer.onError(JOB, "too late");
+
+        assertThat(live.types()).containsExactly("COMPLETE");
+        assertThat(live.completed).isTrue();
+        assertThat(observer.hasTerminalEvent(JOB)).isTrue();
+    }
+
+    @Test
+    void finishedStreamIsRetainedForLateReconnects() {
+        SseProgressObserver observer = observer(32, Duration.ofMinutes(5));
+        publishProgress(observer, 2);
+        observer.onComplete(JOB, "Syllabus ID: 42");
+        observer.evictExpiredStreams();
+
+        RecordingEmitter late = attach(observer, 2);
+
+        assertThat(late.types()).containsExactly("COMPLETE");
+        assertThat(late.completed).isTrue();
+        assertThat(observer.getStreamCount()).isEqualTo(1);
+    }
+
+    @Test
+    void finishedStreamIsEvictedAfterRetention() {
+        SseProgressObserver observer = observer(32, Duration.ZERO);
+        observer.onError(JOB, "Processing failed");
+        sleepPastRetention();
+
+        observer.evictExpiredStreams();
+
+        assertThat(observer.getStreamCount()).isZero();
+        assertThat(observer.hasTerminalEvent(JOB)).isFalse();
+    }
+
+    private SseProgressObserver observer(int replayBufferSize, Duration terminalRetention) {
+        return new SseProgressObserver(new ProgressMessageFactory(new ObjectMapper()), executor,
+                replayBufferSize, terminalRetention, Duration.ofHours(1), Duration.ofMinutes(30));
+    }
+
+    private void publishProgress(SseProgressObserver observer, int count) {
+        for (int i = 1; i <= count; i++) {
+            observer.update(JOB, i * 10, "Step " + i);
+        }
+    }
+
+    private RecordingEmitter attach(SseProgressObserver observer, long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        observer.attach(JOB, emitter, lastEventId);
+        return emitter;
+    }
+
+    private void sleepPastRetention() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            frames.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<Long> ids() {
+            return field("id:").stream().map(Long::valueOf).toList();
+        }
+
+        List<String> types() {
+            return field("event:");
+        }
+
+        private List<String> field(String prefix) {
+            return frames.stream()
+                    .flatMap(frame -> frame.lines().filter(line -> line.startsWith(prefix)))
+                    .map(line -> line.substring(prefix.length()))
+                    .toList();
+        }
+    }
+}
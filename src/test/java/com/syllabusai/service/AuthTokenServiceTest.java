@@ -0,0 +1,131 @@
+package com.syllabusai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syllabusai.model.RevokedToken;
+import com.syllabusai.model.User;
+import com.syllabusai.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret";
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final User user = User.builder()
+            .id(7L).email("ada@example.com").firstName("Ada").lastName("Lovelace").build();
+
+    @Test
+    void issuedTokenVerifiesWithItsClaims() {
+        AuthTokenService service = service(SECRET, Duration.ofHours(1));
+
+        AuthTokenService.TokenClaims claims = service.resolveClaims("Bearer " + service.issueToken(user)).orElseThrow();
+
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.email()).isEqualTo("ada@example.com");
+        assertThat(claims.firstName()).isEqualTo("Ada");
+        assertThat(claims.tokenId()).isNotBlank();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        AuthTokenService service = service(SECRET, Duration.ZERO);
+
+        assertThat(service.verify(service.issueToken(user))).isEmpty();
+    }
+
+    @Test
+    void rejectsTokenWithBadSignature() {
+        AuthTokenService service = service(SECRET, Duration.ofHours(1));
+        String token = service.issueToken(user);
+        String payload = token.substring(0, token.indexOf('.'));
+
+        assertThat(service.verify(payload + ".AAAA")).isEmpty();
+        assertThat(service.verify(service(SECRET + "-other", Duration.ofHours(1)).issueToken(user))).isEmpty();
+        assertThat(service.verify(payload.substring(1) + token.substring(token.indexOf('.')))).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        AuthTokenService service = service(SECRET, Duration.ofHours(1));
+
+        assertThat(service.verify(null)).isEmpty();
+        assertThat(service.verify("no-dot")).isEmpty();
+        assertThat(service.verify(".signature")).isEmpty();
+        assertThat(service.verify("payload.")).isEmpty();
+        assertThat(service.verify("%%%.%%%")).isEmpty();
+        assertThat(service.resolveClaims("Basic abc")).isEmpty();
+        assertThat(service.resolveClaims(null)).isEmpty();
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndPersisted() {
+        AuthTokenService service = service(SECRET, Duration.ofHours(1));
+        String header = "Bearer " + service.issueToken(user);
+
+        assertThat(service.revoke(header)).isTrue();
+
+        assertThat(service.resolveClaims(header)).isEmpty();
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getUserId()).isEqualTo(7L);
+        assertThat(saved.getValue().getTokenId()).isNotBlank();
+    }
+
+    @Test
+    void revokingInvalidTokenDoesNothing() {
+        AuthTokenService service = service(SECRET, Duration.ofHours(1));
+
+        assertThat(service.revoke("Bearer garbage")).isFalse();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void revocationFromAnotherNodeAppliesAfterSync() {
+        AuthTokenService service = service(SECRET, Duration.ofHours(1));
+        String token = service.issueToken(user);
+        String tokenId = service.verify(token).orElseThrow().tokenId();
+        when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(RevokedToken.builder()
+                        .tokenId(tokenId)
+                        .userId(7L)
+                        .revokedAt(LocalDateTime.now())
+                        .expiresAt(LocalDateTime.now().plusHours(1))
+                        .build()));
+
+        service.syncRevocations();
+
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void requiresSecretOutsideDevProfile() {
+        assertThatThrownBy(() -> service("", Duration.ofHours(1)))
+                .isInstanceOf(IllegalStateException.class);
+
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+        AuthTokenService service = new AuthTokenService(new ObjectMapper(), repository, dev, "",
+                Duration.ofHours(1), 100, new SimpleMeterRegistry());
+        assertThat(service.verify(service.issueToken(user))).isPresent();
+    }
+
+    private AuthTokenService service(String secret, Duration ttl) {
+        return new AuthTokenService(new ObjectMapper(), repository, new MockEnvironment(), secret, ttl, 100,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,67 @@
+package com.syllabusai.service;
+
+import com.syllabusai.model.Topic;
+import com.syllabusai.repository.TopicDifficultyKnowledgeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DifficultyKnowledgeServiceTest {
+
+    private final DifficultyKnowledgeService knowledgeService = new DifficultyKnowledgeService(
+            mock(TopicDifficultyKnowledgeRepository.class), new SimpleMeterRegistry(),
+            100, Duration.ofHours(1), 3, 0.6, Duration.ofMinutes(2));
+
+    @Test
+    void ignoresCasePunctuationAndWhitespace() {
+        assertThat(fingerprint("Intro to Recursion!", "Base cases,  call stacks"))
+                .isEqualTo(fingerprint("  intro   TO recursion ", "base cases call-stacks"));
+    }
+
+    @Test
+    void stripsSequencePrefixes() {
+        String expected = fingerprint("Recursion", null);
+
+        assertThat(fingerprint("Week 3: Recursion", null)).isEqualTo(expected);
+        assertThat(fingerprint("Lecture 12 - Recursion", null)).isEqualTo(expected);
+        assertThat(fingerprint("Module 1 Recursion", null)).isEqualTo(expected);
+    }
+
+    @Test
+    void stripsDifficultyAnnotationsFromDescriptions() {
+        assertThat(fingerprint("Recursion", "Base cases [AI Difficulty: HARD]"))
+                .isEqualTo(fingerprint("Recursion", "Base cases"));
+    }
+
+    @Test
+    void comparesOnlyTheDescriptionPrefix() {
+        String prefix = "x".repeat(200);
+
+        assertThat(fingerprint("Recursion", prefix + " first ending"))
+                .isEqualTo(fingerprint("Recursion", prefix + " second ending"));
+        assertThat(fingerprint("Recursion", "Base cases"))
+                .isNotEqualTo(fingerprint("Recursion", "Tail calls"));
+    }
+
+    @Test
+    void keepsNonAsciiLetters() {
+        assertThat(fingerprint("Écoulement laminaire", null))
+                .isNotEqualTo(fingerprint("coulement laminaire", null));
+    }
+
+    @Test
+    void topicsWithoutAUsableTitleHaveNoFingerprint() {
+        assertThat(knowledgeService.fingerprint(null)).isNull();
+        assertThat(fingerprint(null, "Base cases")).isNull();
+        assertThat(fingerprint("  ---  ", null)).isNull();
+        assertThat(fingerprint("Week 3", null)).isNull();
+    }
+
+    private String fingerprint(String title, String description) {
+        return knowledgeService.fingerprint(Topic.builder().title(title).description(description).build());
+    }
+}
@@ -0,0 +1,193 @@
+package com.syllabusai.service;
+
+import com.syllabusai.exception.JobClaimLostException;
+import com.syllabusai.exception.SyllabusProcessingException;
+import com.syllabusai.model.ProcessingJob;
+import com.syllabusai.repository.ProcessingJobPayloadStore;
+import com.syllabusai.repository.ProcessingJobRepository;
+import com.syllabusai.repository.SyllabusRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessingQueueServiceTest {
+
+    private static final String NODE = "node-a";
+
+    private final ProcessingJobRepository jobRepository = mock(ProcessingJobRepository.class);
+    private final ProcessingJobPayloadStore payloadStore = mock(ProcessingJobPayloadStore.class);
+    private final SyllabusRepository syllabusRepository = mock(SyllabusRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProcessingQueueService queueService = new ProcessingQueueService(jobRepository, payloadStore,
+            syllabusRepository, meterRegistry, NODE);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queueService, "visibilityTimeout", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(queueService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queueService, "retryBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(queueService, "doneRetention", Duration.ofDays(7));
+    }
+
+    @Test
+    void enqueueStoresThePayloadUnderTheSavedJobId() {
+        when(jobRepository.save(any())).thenAnswer(invocation -> {
+            ProcessingJob job = invocation.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+        Path file = Path.of("upload.pdf");
+
+        ProcessingJob job = queueService.enqueue(42L, "syllabus.pdf", "hash", file);
+
+        assertThat(job.getStatus()).isEqualTo(ProcessingJob.JobStatus.QUEUED);
+        assertThat(job.getMaxAttempts()).isEqualTo(3);
+        verify(payloadStore).save(7L, file);
+    }
+
+    @Test
+    void claimTakesQueuedJobsForThisNode() {
+        ProcessingJob queued = job(ProcessingJob.JobStatus.QUEUED, 0);
+        when(jobRepository.lockClaimableJobs(any(), eq(2))).thenReturn(List.of(queued));
+
+        List<ProcessingJob> claimed = queueService.claim(2);
+
+        assertThat(claimed).containsExactly(queued);
+        assertThat(queued.getStatus()).isEqualTo(ProcessingJob.JobStatus.RUNNING);
+        assertThat(queued.getAttempts()).isEqualTo(1);
+        assertThat(queued.getLockedBy()).isEqualTo(NODE);
+        assertThat(queued.getVisibleAt()).isCloseTo(LocalDateTime.now().plusMinutes(10), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void claimReclaimsExpiredRunningJobAndDeadLettersItOnFinalAttempt() {
+        ProcessingJob expired = job(ProcessingJob.JobStatus.RUNNING, 1);
+        expired.setLockedBy("node-b");
+        ProcessingJob exhausted = job(ProcessingJob.JobStatus.RUNNING, 3);
+        exhausted.setLockedBy("node-b");
+        when(jobRepository.lockClaimableJobs(any(), anyInt())).thenReturn(List.of(expired, exhausted));
+
+        List<ProcessingJob> claimed = queueService.claim(5);
+
+        assertThat(claimed).containsExactly(expired);
+        assertThat(expired.getAttempts()).isEqualTo(2);
+        assertThat(expired.getLockedBy()).isEqualTo(NODE);
+        assertThat(exhausted.getStatus()).isEqualTo(ProcessingJob.JobStatus.DEAD);
+        assertThat(exhausted.getLockedBy()).isNull();
+        verify(syllabusRepository).updateStatus(exhausted.getSyllabusId(), "FAILED");
+    }
+
+    @Test
+    void markFailedRequeuesWithExponentialBackoff() {
+        ProcessingJob claimed = job(ProcessingJob.JobStatus.RUNNING, 2);
+        claimed.setLockedBy(NODE);
+        when(jobRepository.lockClaim(claimed.getId(), NODE, 2)).thenReturn(Optional.of(claimed));
+
+        boolean dead = queueService.markFailed(claimed, "boom");
+
+        assertThat(dead).isFalse();
+        assertThat(claimed.getStatus()).isEqualTo(ProcessingJob.JobStatus.QUEUED);
+        assertThat(claimed.getLockedBy()).isNull();
+        assertThat(claimed.getLastError()).isEqualTo("boom");
+        assertThat(claimed.getVisibleAt()).isCloseTo(LocalDateTime.now().plusSeconds(60), within(5, ChronoUnit.SECONDS));
+        verify(syllabusRepository).updateStatus(claimed.getSyllabusId(), "QUEUED");
+    }
+
+    @Test
+    void markFailedDeadLettersOnLastAttempt() {
+        ProcessingJob claimed = job(ProcessingJob.JobStatus.RUNNING, 3);
+        claimed.setLockedBy(NODE);
+        when(jobRepository.lockClaim(claimed.getId(), NODE, 3)).thenReturn(Optional.of(claimed));
+
+        assertThat(queueService.markFailed(claimed, "boom")).isTrue();
+        assertThat(claimed.getStatus()).isEqualTo(ProcessingJob.JobStatus.DEAD);
+        verify(syllabusRepository).updateStatus(claimed.getSyllabusId(), "FAILED");
+        assertThat(meterRegistry.get("syllabus.jobs").tag("event", "dead").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void markFailedAfterReclaimThrowsClaimLost() {
+        ProcessingJob stale = job(ProcessingJob.JobStatus.RUNNING, 1);
+        when(jobRepository.lockClaim(any(), any(), anyInt())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> queueService.markFailed(stale, "boom")).isInstanceOf(JobClaimLostException.class);
+        verify(syllabusRepository, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    void markDoneIsFencedAndDropsThePayload() {
+        ProcessingJob claimed = job(ProcessingJob.JobStatus.RUNNING, 1);
+        when(jobRepository.completeClaim(claimed.getId(), NODE, 1)).thenReturn(1);
+
+        queueService.markDone(claimed);
+
+        verify(payloadStore).delete(claimed.getId());
+    }
+
+    @Test
+    void markDoneAfterReclaimKeepsThePayload() {
+        ProcessingJob stale = job(ProcessingJob.JobStatus.RUNNING, 1);
+        when(jobRepository.completeClaim(any(), any(), anyInt())).thenReturn(0);
+
+        assertThatThrownBy(() -> queueService.markDone(stale)).isInstanceOf(JobClaimLostException.class);
+        verify(payloadStore, never()).delete(any());
+    }
+
+    @Test
+    void extendVisibilityAfterReclaimThrowsClaimLost() {
+        ProcessingJob stale = job(ProcessingJob.JobStatus.RUNNING, 1);
+        when(jobRepository.extendClaim(any(), any(), anyInt(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> queueService.extendVisibility(stale)).isInstanceOf(JobClaimLostException.class);
+    }
+
+    @Test
+    void copyPayloadFailsWhenNothingIsStored() {
+        ProcessingJob claimed = job(ProcessingJob.JobStatus.RUNNING, 1);
+        when(payloadStore.copyTo(any(), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> queueService.copyPayload(claimed, Path.of("job.pdf")))
+                .isInstanceOf(SyllabusProcessingException.class);
+    }
+
+    @Test
+    void purgeDeletesDoneJobsOlderThanRetention() {
+        queueService.purgeFinishedJobs();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).deleteDoneBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isCloseTo(LocalDateTime.now().minusDays(7), within(5, ChronoUnit.SECONDS));
+    }
+
+    private ProcessingJob job(ProcessingJob.JobStatus status, int attempts) {
+        return ProcessingJob.builder()
+                .id(1L)
+                .syllabusId(42L)
+                .filename("syllabus.pdf")
+                .status(status)
+                .attempts(attempts)
+                .maxAttempts(3)
+                .visibleAt(LocalDateTime.now())
+                .build();
+    }
+}
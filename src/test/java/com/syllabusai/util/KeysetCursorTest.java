@@ -0,0 +1,68 @@
+package com.syllabusai.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void dateCursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+        String encoded = KeysetCursor.of(createdAt, 42L).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(encoded);
+
+        assertThat(decoded.id()).isEqualTo(42L);
+        assertThat(decoded.dateKey()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void intCursorRoundTripsAndIsUrlSafe() {
+        String encoded = KeysetCursor.of(7, Long.MAX_VALUE).encode();
+
+        assertThat(encoded).doesNotContain("+", "/", "=");
+        KeysetCursor decoded = KeysetCursor.decode(encoded);
+        assertThat(decoded.intKey()).isEqualTo(7);
+        assertThat(decoded.id()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void rejectsCursorThatIsNotBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void rejectsCursorWithoutSeparator() {
+        assertThatThrownBy(() -> KeysetCursor.decode(encode("2024-03-01T12:30")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encode("|42")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCursorWithNonNumericId() {
+        assertThatThrownBy(() -> KeysetCursor.decode(encode("2024-03-01T12:30|1 OR 1=1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTamperedKeyWhenItIsRead() {
+        KeysetCursor dateCursor = KeysetCursor.decode(encode("'; drop table syllabi; --|42"));
+        KeysetCursor intCursor = KeysetCursor.decode(encode("seven|42"));
+
+        assertThatThrownBy(dateCursor::dateKey).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(intCursor::intKey).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
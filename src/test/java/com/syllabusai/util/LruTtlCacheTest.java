@@ -0,0 +1,73 @@
+package com.syllabusai.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruTtlCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertThat(cache.get("a")).contains(1);
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("a")).contains(1);
+        assertThat(cache.get("c")).contains(3);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntryIsDroppedOnRead() throws InterruptedException {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMillis(50));
+        cache.put("a", 1);
+        assertThat(cache.get("a")).contains(1);
+
+        Thread.sleep(80);
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void perEntryTtlShortensButNeverExtendsCacheTtl() throws InterruptedException {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMillis(100));
+        cache.put("short", 1, Duration.ofMillis(20));
+        cache.put("long", 2, Duration.ofMinutes(10));
+
+        Thread.sleep(50);
+        assertThat(cache.get("short")).isEmpty();
+        assertThat(cache.get("long")).contains(2);
+
+        Thread.sleep(100);
+        assertThat(cache.get("long")).isEmpty();
+    }
+
+    @Test
+    void countsHitsAndMissesAndRegistersMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LruTtlCache<String, Integer> cache = new LruTtlCache<String, Integer>(10, Duration.ofMinutes(1))
+                .registerMetrics(registry, "test");
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+        cache.invalidate("a");
+        cache.get("a");
+
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("cache", "test").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("cache.size").tag("cache", "test").gauge().value()).isZero();
+    }
+}